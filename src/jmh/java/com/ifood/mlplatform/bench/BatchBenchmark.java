@@ -0,0 +1,76 @@
+package com.ifood.mlplatform.bench;
+
+import com.ifood.mlplatform.model.Predictable;
+import com.ifood.mlplatform.model.dto.SmileAdapter;
+import com.ifood.mlplatform.model.forest.FlatForestAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch vs. single scoring of the same {@code batchSize} rows; one op is
+ * one whole batch, so the scores compare directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"16", "256"})
+    public int batchSize;
+
+    private Predictable smile;
+    private Predictable flat;
+    private double[][]  batch;
+
+    @Setup
+    public void setup() throws Exception {
+        IrisFixture iris = IrisFixture.load();
+        SmileAdapter smileAdapter = new SmileAdapter();
+        smile = smileAdapter.load(iris.forest, iris.metadata);
+        flat  = new FlatForestAdapter(smileAdapter, true).load(iris.forest, iris.metadata);
+        batch = new double[batchSize][];
+        for (int r = 0; r < batchSize; r++) {
+            batch[r] = iris.rows[r % iris.rows.length];
+        }
+    }
+
+    @Benchmark
+    public void smileSingles(Blackhole bh) {
+        for (double[] row : batch) {
+            bh.consume(smile.predictRow(row));
+        }
+    }
+
+    @Benchmark
+    public Object smileBatch() {
+        return smile.predictRows(batch);
+    }
+
+    @Benchmark
+    public void flatSingles(Blackhole bh) {
+        for (double[] row : batch) {
+            bh.consume(flat.predictRow(row));
+        }
+    }
+
+    @Benchmark
+    public Object flatBatch() {
+        return flat.predictRows(batch);
+    }
+}
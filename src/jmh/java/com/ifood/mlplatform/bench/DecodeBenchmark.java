@@ -0,0 +1,71 @@
+package com.ifood.mlplatform.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ifood.mlplatform.codec.FeatureRowsDecoder;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
+import com.ifood.mlplatform.util.MetadataConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import smile.data.type.StructType;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-side costs: Jackson into a generic feature map vs.
+ * the streaming decoder into a bound row, plus the per-load schema work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+
+    private ObjectReader       requestReader;
+    private FeatureRowsDecoder decoder;
+    private FeaturePlan        plan;
+    private ModelMetadata      metadata;
+    private byte[]             body;
+
+    @Setup
+    public void setup() throws Exception {
+        IrisFixture iris = IrisFixture.load();
+        ObjectMapper mapper = new ObjectMapper();
+        requestReader = mapper.readerFor(Map.class);
+        decoder       = new FeatureRowsDecoder(mapper.getFactory());
+        metadata      = iris.metadata;
+        plan          = FeaturePlan.compile(metadata);
+        body          = iris.requestJson(0);
+    }
+
+    @Benchmark
+    public Map<String, Object> jacksonFeatureMap() throws Exception {
+        return requestReader.readValue(body);
+    }
+
+    @Benchmark
+    public BoundFeatures streamingDecoder() throws Exception {
+        return decoder.decode(new ByteArrayInputStream(body), plan);
+    }
+
+    @Benchmark
+    public StructType metadataToFullSchema() {
+        return MetadataConverter.toFullSchema(metadata);
+    }
+}
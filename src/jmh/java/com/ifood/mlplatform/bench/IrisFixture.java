@@ -0,0 +1,86 @@
+package com.ifood.mlplatform.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.apache.commons.csv.CSVFormat;
+
+import smile.classification.RandomForest;
+import smile.data.DataFrame;
+import smile.data.formula.Formula;
+import smile.data.vector.IntVector;
+import smile.io.Read;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Iris RandomForest trained in-process the same way TrainModel does,
+ * plus the rows and request bodies the benchmarks score.
+ * Paths are relative to the project root (exec:exec's working directory).
+ */
+public final class IrisFixture {
+
+    public static final String CSV    = "src/main/resources/data/iris.csv";
+    public static final String SCHEMA = "src/main/resources/data/schema.json";
+
+    public final ModelMetadata             metadata;
+    public final RandomForest              forest;
+    public final double[][]                rows;
+    public final List<Map<String, Object>> featureMaps;
+    public final byte[]                    serializedModel;
+
+    private IrisFixture(ModelMetadata metadata, RandomForest forest, double[][] rows,
+                        List<Map<String, Object>> featureMaps, byte[] serializedModel) {
+        this.metadata        = metadata;
+        this.forest          = forest;
+        this.rows            = rows;
+        this.featureMaps     = featureMaps;
+        this.serializedModel = serializedModel;
+    }
+
+    public static IrisFixture load() throws Exception {
+        ModelMetadata md = new ObjectMapper().readValue(new File(SCHEMA), ModelMetadata.class);
+        DataFrame data = Read.csv(CSV, CSVFormat.DEFAULT.builder().setHeader().build());
+
+        String label = md.label.name;
+        String[] names = data.stringVector(label).toArray();
+        int[] y = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            y[i] = md.label.classes.indexOf(names[i]);
+        }
+        data = data.drop(label).merge(IntVector.of(label, y));
+        RandomForest forest = RandomForest.fit(Formula.lhs(label), data);
+
+        FeaturePlan plan = FeaturePlan.compile(md);
+        double[][] rows = new double[data.nrow()][];
+        List<Map<String, Object>> maps = new ArrayList<>(rows.length);
+        for (int r = 0; r < rows.length; r++) {
+            double[] row = plan.newRow();
+            Map<String, Object> features = new LinkedHashMap<>();
+            for (int i = 0; i < plan.featureCount(); i++) {
+                row[i] = data.getDouble(r, data.indexOf(plan.name(i)));
+                features.put(plan.name(i), row[i]);
+            }
+            rows[r] = row;
+            maps.add(features);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(forest);
+        }
+        return new IrisFixture(md, forest, rows, maps, bytes.toByteArray());
+    }
+
+    /** {@code {"features": {...}}} body for row {@code r}. */
+    public byte[] requestJson(int r) throws Exception {
+        return new ObjectMapper().writeValueAsBytes(Map.of("features", featureMaps.get(r)));
+    }
+}
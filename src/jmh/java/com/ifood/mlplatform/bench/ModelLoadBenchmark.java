@@ -0,0 +1,92 @@
+package com.ifood.mlplatform.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.Predictable;
+import com.ifood.mlplatform.model.dto.SmileAdapter;
+import com.ifood.mlplatform.model.forest.FlatForestAdapter;
+import com.ifood.mlplatform.model.forest.ForestAdapter;
+import com.ifood.mlplatform.model.forest.ForestFlattener;
+import com.ifood.mlplatform.model.forest.ForestFormat;
+import com.ifood.mlplatform.model.forest.MappedForest;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import com.ifood.mlplatform.service.AdapterFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model load time through the adapters ModelService hands artifacts to:
+ * model.bin bytes deserialized and loaded (flattened on the way), vs. the
+ * equivalent model.forest loaded over its mapping. The file is mapped once
+ * per trial, so mappings do not pile up across invocations; the map call
+ * itself (one syscall plus header and node validation) is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelLoadBenchmark {
+
+    private AdapterFactory adapters;
+    private byte[]         modelBin;
+    private ModelMetadata  binMetadata;
+    private ModelMetadata  forestMetadata;
+    private Path           forestFile;
+    private MappedForest   mappedForest;
+
+    @Setup
+    public void setup() throws Exception {
+        IrisFixture iris = IrisFixture.load();
+        SmileAdapter smile = new SmileAdapter();
+        adapters    = new AdapterFactory(List.of(new FlatForestAdapter(smile, true), smile, new ForestAdapter()));
+        modelBin    = iris.serializedModel;
+        binMetadata = iris.metadata;
+
+        forestMetadata = new ObjectMapper().readValue(new File(IrisFixture.SCHEMA), ModelMetadata.class);
+        forestMetadata.format = ModelMetadata.FORMAT_FOREST;
+        forestFile = Files.createTempFile("bench", ".forest");
+        try (OutputStream out = Files.newOutputStream(forestFile)) {
+            ForestFormat.write(ForestFlattener.flatten(iris.forest, FeaturePlan.compile(iris.metadata)), out);
+        }
+        mappedForest = ForestFormat.map(forestFile);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        // the mapping stays valid after the file is unlinked and goes with mappedForest
+        Files.deleteIfExists(forestFile);
+    }
+
+    @Benchmark
+    public Predictable loadModelBin() throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(modelBin))) {
+            return adapters.getAdapter(binMetadata).load(in.readObject(), binMetadata);
+        }
+    }
+
+    @Benchmark
+    public Predictable loadModelForest() {
+        return adapters.getAdapter(forestMetadata).load(mappedForest, forestMetadata);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ifood.mlplatform.bench;
+
+import com.ifood.mlplatform.model.Predictable;
+import com.ifood.mlplatform.model.dto.SmileAdapter;
+import com.ifood.mlplatform.model.forest.FlatForestAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row scoring of the iris forest: the SmilePredictor Map path
+ * (what a JSON request used to pay), the bound-row path, and the
+ * flattened engine. Rows rotate so branch prediction cannot memorize one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PredictionBenchmark {
+
+    private Predictable               smile;
+    private Predictable               flat;
+    private double[][]                rows;
+    private List<Map<String, Object>> maps;
+    private int                       cursor;
+
+    @Setup
+    public void setup() throws Exception {
+        IrisFixture iris = IrisFixture.load();
+        SmileAdapter smileAdapter = new SmileAdapter();
+        smile = smileAdapter.load(iris.forest, iris.metadata);
+        flat  = new FlatForestAdapter(smileAdapter, true).load(iris.forest, iris.metadata);
+        rows  = iris.rows;
+        maps  = iris.featureMaps;
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = i + 1 == rows.length ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public Object smilePredictMap() {
+        return smile.predict(maps.get(next()));
+    }
+
+    @Benchmark
+    public Object smilePredictRow() {
+        return smile.predictRow(rows[next()]);
+    }
+
+    @Benchmark
+    public Object flatPredictRow() {
+        return flat.predictRow(rows[next()]);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ifood.mlplatform.codec;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary transport for high-QPS callers, {@value #MEDIA_TYPE_VALUE}.
+ *
+ * Request, little-endian:
+ * <pre>
+ * int    rows, features          (features must equal the model's feature count)
+ * double values[rows * features] (row-major, features in schema order)
+ * </pre>
+ * Values are the row encoding itself: booleans are 0/1 and categorical
+ * features carry their code (index in the schema's {@code categories}, or
+ * the reserved {@code other} code). Every value is still checked through
+ * {@link FeaturePlan#bindEncoded}, so NaN, infinities and invalid codes are
+ * rejected with 400 rather than scored.
+ *
+ * Response, little-endian:
+ * <pre>
+ * int    count
+ *        per prediction: byte kind; 0 → double value,
+ *                                   1 → int length + UTF-8 bytes (class label)
+ * </pre>
+ * Neither direction touches Jackson or an intermediate object per value.
+ */
+public final class BinaryRowsCodec {
+
+    public static final String    MEDIA_TYPE_VALUE = "application/x-ml-rows";
+    public static final MediaType MEDIA_TYPE       = MediaType.valueOf(MEDIA_TYPE_VALUE);
+
+    static final byte KIND_NUMBER = 0;
+    static final byte KIND_TEXT   = 1;
+
+    private static final int HEADER = 2 * Integer.BYTES;
+
+    private BinaryRowsCodec() {
+    }
+
+    public static BoundFeatures decode(InputStream in, FeaturePlan plan) throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(readExactly(in, HEADER, "header")).order(ByteOrder.LITTLE_ENDIAN);
+        int rows     = header.getInt();
+        int features = header.getInt();
+        if (rows <= 0) {
+            throw new IllegalArgumentException(rows == 0 ? "Instances list cannot be empty" : "Invalid row count: " + rows);
+        }
+        if (features != plan.featureCount()) {
+            throw new IllegalArgumentException("Expected " + plan.featureCount() + " features per row, got " + features);
+        }
+
+        // rows are allocated as they arrive, so a lying header cannot reserve memory up front
+        List<double[]> out = new ArrayList<>(Math.min(rows, 1024));
+        byte[] raw = new byte[features * Double.BYTES];
+        DoubleBuffer values = ByteBuffer.wrap(raw).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        for (int r = 0; r < rows; r++) {
+            if (in.readNBytes(raw, 0, raw.length) != raw.length) {
+                throw new IllegalArgumentException("Truncated body: expected " + rows + " rows, got " + r);
+            }
+            out.add(plan.bindEncoded(features, values::get));
+        }
+        if (in.read() != -1) {
+            throw new IllegalArgumentException("Trailing bytes after " + rows + " rows");
+        }
+        return new BoundFeatures(out.toArray(new double[0][]), BoundFeatures.Shape.ROWS, plan);
+    }
+
+    public static byte[] encode(List<Object> predictions) {
+        int size = Integer.BYTES;
+        byte[][] texts = new byte[predictions.size()][];
+        for (int i = 0; i < texts.length; i++) {
+            Object p = predictions.get(i);
+            if (p instanceof Number) {
+                size += 1 + Double.BYTES;
+            } else {
+                texts[i] = String.valueOf(p).getBytes(StandardCharsets.UTF_8);
+                size += 1 + Integer.BYTES + texts[i].length;
+            }
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(texts.length);
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i] == null) {
+                buf.put(KIND_NUMBER).putDouble(((Number) predictions.get(i)).doubleValue());
+            } else {
+                buf.put(KIND_TEXT).putInt(texts[i].length).put(texts[i]);
+            }
+        }
+        return buf.array();
+    }
+
+    private static byte[] readExactly(InputStream in, int length, String what) throws IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IllegalArgumentException("Truncated body: incomplete " + what);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ifood.mlplatform.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-level JSON decoder that writes feature values straight into
+ * primitive rows laid out by a {@link FeaturePlan}.
+ *
+ * Accepts {@code {"features": {...}}} (one row) or
+ * {@code {"instances": [{...}, ...]}} (many rows), never both, and nothing
+ * after the closing brace; {@link BoundFeatures#shape()} tells the
+ * endpoints which one was sent. Other fields are skipped; field names are
+ * canonicalized by Jackson, so known keys cost a hash lookup and no String
+ * allocation. String values are handed to the converter as the parser's
+ * character buffer for the same reason.
+ */
+public class FeatureRowsDecoder {
+
+    private final JsonFactory factory;
+
+    public FeatureRowsDecoder(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    public BoundFeatures decode(InputStream in, FeaturePlan plan) throws IOException {
+        try (JsonParser p = factory.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+            double[][]          rows  = null;
+            BoundFeatures.Shape shape = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken t = p.nextToken();
+                if ("features".equals(field) && t == JsonToken.START_OBJECT) {
+                    requireOne(shape);
+                    rows  = new double[][] { readRow(p, plan) };
+                    shape = BoundFeatures.Shape.SINGLE;
+                }
+                else if ("instances".equals(field) && t == JsonToken.START_ARRAY) {
+                    requireOne(shape);
+                    rows  = readRows(p, plan);
+                    shape = BoundFeatures.Shape.BATCH;
+                }
+                else {
+                    p.skipChildren();
+                }
+            }
+            if (p.nextToken() != null) {
+                throw new IllegalArgumentException("Unexpected content after the JSON body");
+            }
+            if (rows == null) {
+                throw new IllegalArgumentException("Features map must be provided");
+            }
+            if (rows.length == 0) {
+                throw new IllegalArgumentException("Instances list cannot be empty");
+            }
+            return new BoundFeatures(rows, shape, plan);
+        }
+    }
+
+    private static void requireOne(BoundFeatures.Shape seen) {
+        if (seen != null) {
+            throw new IllegalArgumentException("Send either `features` or `instances`, not both");
+        }
+    }
+
+    private double[][] readRows(JsonParser p, FeaturePlan plan) throws IOException {
+        List<double[]> rows = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Each instance must be a JSON object");
+            }
+            rows.add(readRow(p, plan));
+        }
+        return rows.toArray(new double[0][]);
+    }
+
+    /**
+     * Read one feature object; the parser is positioned on its START_OBJECT.
+     */
+    private double[] readRow(JsonParser p, FeaturePlan plan) throws IOException {
+        int      n    = plan.featureCount();
+        double[] row  = plan.newRow();
+        long[]   seen = new long[(n + 63) >>> 6];
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            int slot = plan.slot(p.currentName());
+            JsonToken v = p.nextToken();
+            if (slot < 0 || v == JsonToken.VALUE_NULL) {
+                // extra fields are ignored; null counts as missing
+                p.skipChildren();
+                continue;
+            }
+            FeaturePlan.Converter c = plan.converter(slot);
+            try {
+                row[slot] = switch (v) {
+                    case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> c.fromNumber(p.getDoubleValue());
+                    case VALUE_STRING -> c.fromChars(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                    case VALUE_TRUE   -> c.fromBoolean(true);
+                    case VALUE_FALSE  -> c.fromBoolean(false);
+                    default -> throw new IllegalArgumentException("Unsupported JSON value: " + v);
+                };
+            } catch (RuntimeException e) {
+                throw plan.invalid(slot, e);
+            }
+            seen[slot >>> 6] |= 1L << slot;
+        }
+
+        for (int i = 0; i < n; i++) {
+            if ((seen[i >>> 6] & (1L << i)) == 0) {
+                throw plan.missing(i);
+            }
+        }
+        return row;
+    }
+}
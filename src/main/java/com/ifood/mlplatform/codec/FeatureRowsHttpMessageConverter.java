@@ -0,0 +1,85 @@
+package com.ifood.mlplatform.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
+import com.ifood.mlplatform.service.ModelService;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads JSON and {@link BinaryRowsCodec binary} prediction bodies directly
+ * into {@link BoundFeatures}.
+ *
+ * The target model comes from the {@code {modelId}} URI variable, which
+ * Spring MVC resolves before the body is read; its compiled plan drives
+ * {@link FeatureRowsDecoder} or {@link BinaryRowsCodec}. Loading the model here means an unknown
+ * modelId surfaces as ModelNotFoundException (→ 404) as before.
+ * Decoding is recorded as the model's bind stage.
+ */
+public class FeatureRowsHttpMessageConverter extends AbstractHttpMessageConverter<BoundFeatures> {
+
+    private final ModelService       modelService;
+    private final FeatureRowsDecoder decoder;
+
+    public FeatureRowsHttpMessageConverter(ModelService modelService, FeatureRowsDecoder decoder) {
+        super(MediaType.APPLICATION_JSON, BinaryRowsCodec.MEDIA_TYPE);
+        this.modelService = modelService;
+        this.decoder      = decoder;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BoundFeatures.class == clazz;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BoundFeatures readInternal(Class<? extends BoundFeatures> clazz,
+                                         HttpInputMessage inputMessage) throws IOException {
+        String modelId = currentModelId();
+        FeaturePlan plan = modelService.plan(modelId);
+        long start = System.nanoTime();
+        try {
+            BoundFeatures features = BinaryRowsCodec.MEDIA_TYPE.isCompatibleWith(inputMessage.getHeaders().getContentType())
+                                   ? BinaryRowsCodec.decode(inputMessage.getBody(), plan)
+                                   : decoder.decode(inputMessage.getBody(), plan);
+            modelService.timers(modelId).bind().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return features;
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Malformed JSON request: " + e.getOriginalMessage(),
+                                                      e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(BoundFeatures features, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("BoundFeatures is read-only");
+    }
+
+    private static String currentModelId() {
+        @SuppressWarnings("unchecked")
+        Map<String, String> vars = (Map<String, String>) RequestContextHolder.currentRequestAttributes()
+            .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        String modelId = vars == null ? null : vars.get("modelId");
+        if (modelId == null) {
+            throw new IllegalStateException("BoundFeatures can only be read on a /{modelId} route");
+        }
+        return modelId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Server-side micro-batching of single predictions ({@code model.batching.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.batching")
+public class BatchingProperties {
+
+    /** Coalesce concurrent single-row predictions of a model into vectorized batches. */
+    private boolean enabled = false;
+
+    /** Flush as soon as this many rows are queued. */
+    private int maxBatchSize = 32;
+
+    /** Flush at the latest this long after the first row of a batch was queued. */
+    private Duration maxDelay = Duration.ofMillis(1);
+
+    /** Rows queued per model; when full, callers score their row directly. */
+    private int queueCapacity = 1024;
+
+    /** Longest a caller without a deadline waits for its batch before it gives up (503). */
+    private Duration waitTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Threads shared by all models that score flushed batches, one batch
+     * each at a time (0 = number of cores); virtual threads ignore it.
+     */
+    private int flushers = 0;
+}
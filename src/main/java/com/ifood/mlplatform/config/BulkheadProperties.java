@@ -0,0 +1,67 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dedicated scoring executors for groups of models ({@code model.bulkhead.*}).
+ *
+ * <pre>
+ * model.bulkhead.enabled=true
+ * model.bulkhead.groups.forests.models=fraud,eta
+ * model.bulkhead.groups.forests.max-threads=4
+ * model.bulkhead.groups.forests.target-rate=300
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.bulkhead")
+public class BulkheadProperties {
+
+    /** Score grouped models on their group's threads instead of the caller's. */
+    private boolean enabled = false;
+
+    /** Bulkhead per group name; models in no group score on the caller's thread. */
+    private Map<String, Group> groups = new HashMap<>();
+
+    /** How often groups without fixed {@code threads} are resized from measured cost. */
+    private Duration resizeInterval = Duration.ofSeconds(10);
+
+    /** Longest a caller without a deadline waits for its call before it is cancelled (503). */
+    private Duration callTimeout = Duration.ofSeconds(2);
+
+    @Getter
+    @Setter
+    public static class Group {
+
+        /** Model ids (without version) scored on this group's threads. */
+        private List<String> models = new ArrayList<>();
+
+        /** Fixed thread count; 0 sizes the group from measured scoring cost. */
+        private int threads = 0;
+
+        /** Ceiling of a cost-sized group; 0 uses half of {@code model.inference.max-concurrency}. */
+        private int maxThreads = 0;
+
+        /**
+         * Scoring calls per second the group should sustain. With the mean
+         * cost of a call, this gives the threads it keeps busy (Little's law).
+         */
+        private double targetRate = 100;
+
+        /** Share of its threads a cost-sized group aims to keep busy; the rest absorbs bursts. */
+        private double targetUtilization = 0.7;
+
+        /** Calls waiting for a thread; beyond that they are shed with 429. */
+        private int queueCapacity = 64;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-process gRPC streaming server ({@code model.grpc.*}), started next to
+ * the REST API when enabled.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.grpc")
+public class GrpcProperties {
+
+    /** Off by default: it opens a second port, so deployments opt in. */
+    private boolean enabled = false;
+
+    private int port = 9090;
+
+    /**
+     * Requests one stream may have in flight on the server; the stream stops
+     * reading (HTTP/2 flow control pushes back on the client) until answers
+     * go out.
+     */
+    private int maxInFlightPerStream = 64;
+
+    /** Largest accepted request message, i.e. the biggest batch. */
+    private int maxInboundMessageSize = 4 * 1024 * 1024;
+
+    /** Scoring threads (0 = number of cores), platform threads in every mode. */
+    private int threads = 0;
+
+    /** Requests waiting for a scoring thread; beyond that the call fails with RESOURCE_EXHAUSTED. */
+    private int queueCapacity = 256;
+
+    /** Ping idle connections this often so long-lived streams survive idle proxies. */
+    private Duration keepAliveTime = Duration.ofMinutes(1);
+
+    /** Most frequent client keepalive ping accepted before the connection is closed. */
+    private Duration permitKeepAliveTime = Duration.ofSeconds(30);
+
+    /** How long in-flight streams get to finish on shutdown. */
+    private Duration shutdownGrace = Duration.ofSeconds(10);
+}
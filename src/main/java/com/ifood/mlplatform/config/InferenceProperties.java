@@ -0,0 +1,61 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Scoring concurrency and admission control ({@code model.inference.*});
+ * {@code flat-forest} is read by FlatForestAdapter itself.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.inference")
+public class InferenceProperties {
+
+    /**
+     * Max predictions scoring at once across all models; 0 uses the number
+     * of available cores. Scoring is CPU-bound, so with virtual threads (or
+     * a large Tomcat pool) running more than this only adds context switches.
+     */
+    private int maxConcurrency = 0;
+
+    /**
+     * How long a request waits for a scoring slot before failing with 503;
+     * an earlier {@code X-Deadline-Ms} header wins.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Per-model adaptive (AIMD) limits on predictions in flight, queued or
+     * scoring. A model at its limit is answered 429 right away, so one hot
+     * model cannot take every slot from the others.
+     */
+    private ModelLimit modelLimit = new ModelLimit();
+
+    @Getter
+    @Setter
+    public static class ModelLimit {
+
+        private boolean enabled = true;
+
+        /** Floor of a model's limit. */
+        private int min = 1;
+
+        /** Ceiling and starting value of a model's limit; 0 uses twice max-concurrency. */
+        private int max = 0;
+
+        /**
+         * Waiting longer than this for a scoring slot counts as congestion and
+         * shrinks the model's limit; shorter waits let it grow again.
+         */
+        private Duration queueTarget = Duration.ofMillis(5);
+
+        /** Multiplicative decrease applied on congestion. */
+        private double backoffRatio = 0.9;
+    }
+}
@@ -0,0 +1,36 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Sizing and freshness of the in-memory model cache ({@code model.cache.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.cache")
+public class ModelCacheProperties {
+
+    /** Max number of loaded models; used when no byte budget is set. */
+    private long maximumSize = 100;
+
+    /** Budget in bytes of model artifacts (model.bin / model.forest size); 0 caps by entry count instead. */
+    private long maximumWeightBytes = 0;
+
+    /** Evict models not used for this long; unset keeps them until size-evicted. */
+    private Duration expireAfterAccess;
+
+    /** Re-check the model artifact's ETag after this age and reload in the background if it changed; unset disables. */
+    private Duration refreshAfterWrite;
+
+    /** Threads loading models in the background; different models load in parallel up to this many. */
+    private int loaderThreads = 4;
+
+    /** How long a request waits for a cold model before failing with 503; the load itself keeps going. */
+    private Duration loadTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,36 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Startup prewarming ({@code model.prewarm.*}): which models to load before
+ * the readiness probe goes UP, and how hard to exercise them.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.prewarm")
+public class PrewarmProperties {
+
+    /** Model IDs loaded at startup. */
+    private List<String> modelIds = new ArrayList<>();
+
+    /** Also prewarm every model prefix found in the bucket. */
+    private boolean discover = false;
+
+    /** Synthetic single-row predictions per model, to get the scoring path JIT-compiled. */
+    private int warmupIterations = 1000;
+
+    /** Rows per synthetic batch; a tenth of the iterations go through the batch path. */
+    private int warmupBatchSize = 64;
+
+    /** Overall budget for loading; models not ready by then are skipped (and load on first use). */
+    private Duration timeout = Duration.ofMinutes(2);
+}
@@ -0,0 +1,26 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scoring pool of the WebFlux serving mode ({@code model.reactive.*},
+ * profile {@code reactive}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.reactive")
+public class ReactiveProperties {
+
+    /** Threads decoding and scoring requests; 0 uses the number of cores. */
+    private int threads = 0;
+
+    /**
+     * Requests waiting for a scoring thread; beyond that requests are shed
+     * with 503 instead of queuing without limit.
+     */
+    private int queueCapacity = 256;
+}
@@ -0,0 +1,32 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-model cache of predictions keyed by the bound feature row ({@code model.result-cache.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.result-cache")
+public class ResultCacheProperties {
+
+    /** Serve repeated feature rows from a cache instead of re-scoring them. */
+    private boolean enabled = false;
+
+    /** Models to cache for; empty caches every model. */
+    private List<String> modelIds = new ArrayList<>();
+
+    /** Max cached rows per model. */
+    private long maximumSize = 10_000;
+
+    /** Drop entries this long after they were written; unset keeps them until size-evicted. */
+    private Duration expireAfterWrite;
+}
@@ -0,0 +1,51 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Canary and shadow routing between versions of a model ({@code model.routing.*}).
+ *
+ * <pre>
+ * model.routing.models.iris.canary=v3
+ * model.routing.models.iris.canary-percent=10
+ * model.routing.models.iris.shadow=v4
+ * </pre>
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.routing")
+public class RoutingProperties {
+
+    /** Routing rule per model id; models without one always serve {@code current}. */
+    private Map<String, Rule> models = new HashMap<>();
+
+    /** Threads scoring shadow traffic, apart from request threads. */
+    private int shadowThreads = 2;
+
+    /** Shadow calls queued at most; beyond this they are dropped, never waited on. */
+    private int shadowQueueCapacity = 256;
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        /** Version (e.g. "v3") answering {@link #canaryPercent}% of requests. */
+        private String canary;
+
+        /** Share of requests, 0 to 100, answered by {@link #canary}; checked when the router starts. */
+        private int canaryPercent = 0;
+
+        /** Version scored in the background on a copy of the request; its answer is only compared. */
+        private String shadow;
+
+        /** Share of requests, 0 to 100, mirrored to {@link #shadow}. */
+        private int shadowPercent = 100;
+    }
+}
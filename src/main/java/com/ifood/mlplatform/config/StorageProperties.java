@@ -0,0 +1,34 @@
+package com.ifood.mlplatform.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Artifact fetching ({@code model.storage.*}).
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "model.storage")
+public class StorageProperties {
+
+    /** Directory for the local ETag-addressed artifact cache; blank disables it. */
+    private String cacheDir = "";
+
+    /** Size the artifact cache may reach; beyond it, least recently used blobs are deleted. */
+    private DataSize cacheMaxSize = DataSize.ofGigabytes(2);
+
+    /** Threads for concurrent artifact downloads. */
+    private int fetchThreads = 8;
+
+    /**
+     * Artifact format fetched alongside schema.json before the schema says
+     * which one the model uses ("forest" or "java"); a wrong guess costs one
+     * extra sequential download. A model without the guessed artifact is an
+     * expected, quiet miss (debug log only).
+     */
+    private String preferredFormat = "forest";
+}
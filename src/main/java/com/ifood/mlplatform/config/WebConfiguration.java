@@ -0,0 +1,29 @@
+package com.ifood.mlplatform.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.codec.FeatureRowsDecoder;
+import com.ifood.mlplatform.codec.FeatureRowsHttpMessageConverter;
+import com.ifood.mlplatform.service.ModelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class WebConfiguration implements WebMvcConfigurer {
+
+    private final ModelService modelService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // ahead of Jackson so prediction bodies never become a Map
+        converters.add(0, new FeatureRowsHttpMessageConverter(
+            modelService, new FeatureRowsDecoder(objectMapper.getFactory())));
+    }
+}
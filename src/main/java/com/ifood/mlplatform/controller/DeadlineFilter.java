@@ -0,0 +1,59 @@
+package com.ifood.mlplatform.controller;
+
+import com.ifood.mlplatform.service.RequestDeadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+/**
+ * Starts the {@link RequestDeadline} clock when a request with
+ * {@value RequestDeadline#HEADER} arrives, before any decoding or model
+ * loading, so that time counts against the caller's budget too.
+ *
+ * Runs before the DispatcherServlet, so a malformed header is handed to
+ * the MVC exception resolvers to get the same JSON error body as any
+ * other 400.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final HandlerExceptionResolver resolver;
+
+    public DeadlineFilter(@Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long budget;
+        try {
+            budget = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            resolver.resolveException(request, response, null,
+                new IllegalArgumentException("Invalid " + RequestDeadline.HEADER + ": " + header));
+            return;
+        }
+        RequestDeadline.set(budget);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
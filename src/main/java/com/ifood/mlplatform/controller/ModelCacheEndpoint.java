@@ -0,0 +1,85 @@
+package com.ifood.mlplatform.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ifood.mlplatform.config.ModelCacheProperties;
+import com.ifood.mlplatform.exception.ModelNotFoundException;
+import com.ifood.mlplatform.service.ModelService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Actuator view of the model cache: {@code GET /actuator/modelcache}.
+ * {@code POST /actuator/modelcache/{modelId}} checks storage for a new
+ * version right away (e.g. from a deploy pipeline after moving {@code current})
+ * and waits up to {@code model.cache.load-timeout} for the outcome: 200 with
+ * the version now serving, 202 if the load is still running, 404 for an
+ * unknown model, 503 if the load failed (the previous version keeps serving).
+ */
+@Slf4j
+@Component
+@Endpoint(id = "modelcache")
+@RequiredArgsConstructor
+public class ModelCacheEndpoint {
+
+    private final ModelService         modelService;
+    private final ModelCacheProperties cacheProperties;
+
+    @ReadOperation
+    public Map<String, Object> cache() {
+        CacheStats stats = modelService.cacheStats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("models", modelService.cachedModelIds());
+        body.put("versions", modelService.cachedVersions());
+        body.put("hitCount", stats.hitCount());
+        body.put("missCount", stats.missCount());
+        body.put("hitRate", stats.hitRate());
+        body.put("loadSuccessCount", stats.loadSuccessCount());
+        body.put("loadFailureCount", stats.loadFailureCount());
+        body.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        body.put("evictionCount", stats.evictionCount());
+        return body;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> refresh(@Selector String modelId) {
+        CompletableFuture<String> refresh = modelService.refresh(modelId);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", modelId);
+        try {
+            String version = refresh.get(cacheProperties.getLoadTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            body.put("status", "refreshed");
+            body.put("version", version);
+            return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_OK);
+        } catch (TimeoutException e) {
+            // the load keeps going and swaps the model in when it lands
+            body.put("status", "refreshing");
+            return new WebEndpointResponse<>(body, 202);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            body.put("status", "failed");
+            body.put("message", cause.getMessage());
+            if (cause instanceof ModelNotFoundException) {
+                return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            log.warn("❌ Refresh of model `{}` failed, previous version keeps serving: {}", modelId, cause.toString());
+            return new WebEndpointResponse<>(body, WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            body.put("status", "refreshing");
+            return new WebEndpointResponse<>(body, 202);
+        }
+    }
+}
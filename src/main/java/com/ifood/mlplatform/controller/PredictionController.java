@@ -1,6 +1,9 @@
 package com.ifood.mlplatform.controller;
 
-import com.ifood.mlplatform.model.dto.PredictionRequest;
+import com.ifood.mlplatform.codec.BinaryRowsCodec;
+import com.ifood.mlplatform.model.ClassScore;
+import com.ifood.mlplatform.model.dto.BatchPredictionResponse;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
 import com.ifood.mlplatform.model.dto.PredictionResponse;
 import com.ifood.mlplatform.service.ModelService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -10,34 +13,46 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 @RestController
-@RequestMapping(path = "/predict", 
-                consumes = MediaType.APPLICATION_JSON_VALUE,
-                produces = MediaType.APPLICATION_JSON_VALUE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/predict")
 @RequiredArgsConstructor
 @Tag(name = "Model Prediction API", description = "Serve predictions for ML models")
 public class PredictionController {
 
+    static final String OUTPUT_LABEL         = "label";
+    static final String OUTPUT_PROBABILITIES = "probabilities";
+
     private final ModelService modelService;
 
-    @PostMapping("/{modelId}")
+    @PostMapping(path = "/{modelId}",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
       summary = "Make a prediction with the given model",
       parameters = {
-        @Parameter(name = "modelId", description = "Identifier of the model to use", required = true)
+        @Parameter(name = "modelId", description = "Identifier of the model to use", required = true),
+        @Parameter(name = "output", description = "`label` (default) or `probabilities` to add class scores"),
+        @Parameter(name = "top_k", description = "Only the k most probable classes (implies `probabilities`)")
       },
       requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
         description = "Feature values keyed by name",
         required = true,
         content = @Content(
           mediaType = MediaType.APPLICATION_JSON_VALUE,
-          schema = @Schema(implementation = PredictionRequest.class),
+          schema = @Schema(type = "object", requiredProperties = "features",
+                           description = "`features`: map of every feature name of the model to its value"),
           examples = @ExampleObject(
             name = "Iris sample",
             value = """
@@ -61,9 +76,118 @@ public class PredictionController {
     )
     public ResponseEntity<PredictionResponse> predict(
             @PathVariable String modelId,
-            @Valid @RequestBody PredictionRequest request) {
+            @RequestParam(defaultValue = OUTPUT_LABEL) String output,
+            @RequestParam(name = "top_k", defaultValue = "0") int topK,
+            @RequestBody BoundFeatures request) {
 
-        Object prediction = modelService.predict(modelId, request.getFeatures());
+        if (wantsScores(output, topK)) {
+            // the label is the most probable class, consistent with the scores
+            List<ClassScore> scores = modelService.predictScores(modelId, request.plan(), request.single(), topK);
+            return ResponseEntity.ok(new PredictionResponse(scores.get(0).label(), scores));
+        }
+        Object prediction = modelService.predictRow(modelId, request.plan(), request.single());
         return ResponseEntity.ok(new PredictionResponse(prediction));
     }
+
+    @PostMapping(path = "/{modelId}/batch",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+      summary = "Make predictions for many rows with the given model",
+      parameters = {
+        @Parameter(name = "modelId", description = "Identifier of the model to use", required = true),
+        @Parameter(name = "output", description = "`label` (default) or `probabilities` to add class scores"),
+        @Parameter(name = "top_k", description = "Only the k most probable classes (implies `probabilities`)")
+      },
+      requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+        description = "One feature map per row, keyed by name",
+        required = true,
+        content = @Content(
+          mediaType = MediaType.APPLICATION_JSON_VALUE,
+          schema = @Schema(type = "object", requiredProperties = "instances",
+                           description = "`instances`: non-empty list of feature maps, one per row"),
+          examples = @ExampleObject(
+            name = "Iris batch",
+            value = """
+              {
+                "instances": [
+                  { "sepal_length": 5.1, "sepal_width": 3.5, "petal_length": 1.4, "petal_width": 0.2 },
+                  { "sepal_length": 6.7, "sepal_width": 3.0, "petal_length": 5.2, "petal_width": 2.3 }
+                ]
+              }
+              """
+          )
+        )
+      ),
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Predictions successful, in request order"),
+        @ApiResponse(responseCode = "400", description = "Invalid request or missing feature in any row"),
+        @ApiResponse(responseCode = "404", description = "Model not found")
+      }
+    )
+    public ResponseEntity<BatchPredictionResponse> predictBatch(
+            @PathVariable String modelId,
+            @RequestParam(defaultValue = OUTPUT_LABEL) String output,
+            @RequestParam(name = "top_k", defaultValue = "0") int topK,
+            @RequestBody BoundFeatures request) {
+
+        if (wantsScores(output, topK)) {
+            List<List<ClassScore>> scores = modelService.predictScoreRows(modelId, request.plan(), request.batch(), topK);
+            List<Object> predictions = new ArrayList<>(scores.size());
+            for (List<ClassScore> row : scores) {
+                predictions.add(row.get(0).label());
+            }
+            return ResponseEntity.ok(new BatchPredictionResponse(predictions, scores));
+        }
+        List<Object> predictions = modelService.predictRows(modelId, request.plan(), request.batch());
+        return ResponseEntity.ok(new BatchPredictionResponse(predictions));
+    }
+
+    /**
+     * Binary transport ({@link BinaryRowsCodec}): one row in, one prediction out.
+     * The response is written as raw bytes; errors still answer JSON.
+     */
+    @PostMapping(path = "/{modelId}", consumes = BinaryRowsCodec.MEDIA_TYPE_VALUE)
+    @Operation(summary = "Make a prediction from a little-endian binary row (application/x-ml-rows)")
+    public void predictBinary(
+            @PathVariable String modelId,
+            @RequestBody BoundFeatures request,
+            HttpServletResponse response) throws IOException {
+
+        Object prediction = modelService.predictRow(modelId, request.plan(), request.single());
+        writeBinary(response, List.of(prediction));
+    }
+
+    /**
+     * Binary transport ({@link BinaryRowsCodec}) for many rows, results in request order.
+     */
+    @PostMapping(path = "/{modelId}/batch", consumes = BinaryRowsCodec.MEDIA_TYPE_VALUE)
+    @Operation(summary = "Make predictions from little-endian binary rows (application/x-ml-rows)")
+    public void predictBatchBinary(
+            @PathVariable String modelId,
+            @RequestBody BoundFeatures request,
+            HttpServletResponse response) throws IOException {
+
+        writeBinary(response, modelService.predictRows(modelId, request.plan(), request.batch()));
+    }
+
+    private static void writeBinary(HttpServletResponse response, List<Object> predictions) throws IOException {
+        byte[] body = BinaryRowsCodec.encode(predictions);
+        response.setContentType(BinaryRowsCodec.MEDIA_TYPE_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean wantsScores(String output, int topK) {
+        if (topK < 0) {
+            throw new IllegalArgumentException("top_k must be >= 0");
+        }
+        if (OUTPUT_PROBABILITIES.equalsIgnoreCase(output)) {
+            return true;
+        }
+        if (!OUTPUT_LABEL.equalsIgnoreCase(output)) {
+            throw new IllegalArgumentException("Unsupported output: " + output);
+        }
+        return topK > 0;
+    }
 }
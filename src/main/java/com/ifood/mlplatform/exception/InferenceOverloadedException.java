@@ -0,0 +1,16 @@
+package com.ifood.mlplatform.exception;
+
+public class InferenceOverloadedException extends RuntimeException {
+    public InferenceOverloadedException(String modelId, long waitedMs) {
+        super("No inference capacity for model: " + modelId + " (waited " + waitedMs + " ms)");
+    }
+
+    private InferenceOverloadedException(String message) {
+        super(message);
+    }
+
+    /** The request's X-Deadline-Ms budget ran out before it could be scored. */
+    public static InferenceOverloadedException deadlineExceeded(String modelId) {
+        return new InferenceOverloadedException("Deadline exceeded before scoring model: " + modelId);
+    }
+}
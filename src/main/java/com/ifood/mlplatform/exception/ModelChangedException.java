@@ -0,0 +1,11 @@
+package com.ifood.mlplatform.exception;
+
+/**
+ * The model swapped to a version that binds features differently between
+ * binding a request and scoring it; the client should retry.
+ */
+public class ModelChangedException extends RuntimeException {
+    public ModelChangedException(String modelId) {
+        super("Model changed while the request was being read, retry: " + modelId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.ifood.mlplatform.exception;
+
+public class ModelLoadTimeoutException extends RuntimeException {
+    public ModelLoadTimeoutException(String modelId, long timeoutMs) {
+        super("Model still loading: " + modelId + " (waited " + timeoutMs + " ms)");
+    }
+}
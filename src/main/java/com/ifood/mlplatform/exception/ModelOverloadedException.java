@@ -0,0 +1,7 @@
+package com.ifood.mlplatform.exception;
+
+public class ModelOverloadedException extends RuntimeException {
+    public ModelOverloadedException(String modelId, int limit) {
+        super("Too many concurrent predictions for model: " + modelId + " (limit " + limit + ")");
+    }
+}
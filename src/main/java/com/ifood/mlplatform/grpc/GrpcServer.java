@@ -0,0 +1,98 @@
+package com.ifood.mlplatform.grpc;
+
+import com.ifood.mlplatform.config.GrpcProperties;
+import com.ifood.mlplatform.service.RowScorer;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the gRPC {@link PredictionGrpcService} in the same process as the
+ * REST API, on its own port ({@code model.grpc.port}), when
+ * {@code model.grpc.enabled} is set. Started and stopped with the
+ * application context, like the embedded web server.
+ *
+ * Requests score on a fixed pool with a bounded queue, as in reactive
+ * mode: when it is full, the call is shed with RESOURCE_EXHAUSTED instead
+ * of queueing without bound.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcProperties properties;
+    private final RowScorer      scorer;
+
+    private Server          server;
+    private ExecutorService scoring;
+
+    @Override
+    public synchronized void start() {
+        if (!properties.isEnabled() || server != null) {
+            return;
+        }
+        int threads = properties.getThreads() > 0
+                    ? properties.getThreads()
+                    : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        scoring = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                                         new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                                         r -> {
+                                             Thread t = new Thread(r, "grpc-predict-" + seq.incrementAndGet());
+                                             t.setDaemon(true);
+                                             return t;
+                                         },
+                                         new ThreadPoolExecutor.AbortPolicy());
+        try {
+            server = NettyServerBuilder.forPort(properties.getPort())
+                .addService(new PredictionGrpcService(scorer, scoring, properties.getMaxInFlightPerStream()))
+                .maxInboundMessageSize(properties.getMaxInboundMessageSize())
+                .keepAliveTime(properties.getKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveTime(properties.getPermitKeepAliveTime().toMillis(), TimeUnit.MILLISECONDS)
+                .permitKeepAliveWithoutCalls(true)
+                .build()
+                .start();
+        } catch (IOException e) {
+            scoring.shutdownNow();
+            throw new UncheckedIOException("❌ Could not start gRPC server on port " + properties.getPort(), e);
+        }
+        log.info("📡 gRPC prediction server listening on port {}", server.getPort());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(properties.getShutdownGrace().toMillis(), TimeUnit.MILLISECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        scoring.shutdownNow();
+        server = null;
+        log.info("📡 gRPC prediction server stopped");
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,223 @@
+package com.ifood.mlplatform.grpc;
+
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelChangedException;
+import com.ifood.mlplatform.exception.ModelLoadTimeoutException;
+import com.ifood.mlplatform.exception.ModelNotFoundException;
+import com.ifood.mlplatform.exception.ModelOverloadedException;
+import com.ifood.mlplatform.exception.StorageException;
+import com.ifood.mlplatform.grpc.v1.Error;
+import com.ifood.mlplatform.grpc.v1.PredictRequest;
+import com.ifood.mlplatform.grpc.v1.PredictResponse;
+import com.ifood.mlplatform.grpc.v1.Prediction;
+import com.ifood.mlplatform.grpc.v1.PredictionServiceGrpc;
+import com.ifood.mlplatform.grpc.v1.Row;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.service.RowScorer;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bidirectional streaming front end over a {@link RowScorer}.
+ *
+ * Each request is scored on {@code executor}, off the transport threads,
+ * so one stream pipelines many requests and answers them as they finish.
+ * Inbound flow control is manual: a stream starts with
+ * {@code maxInFlight} requested messages and each answer hands one back,
+ * but only while the outbound side is ready. A client that stops reading
+ * therefore stops being read.
+ *
+ * Failures are per request: the response carries an {@link Error} with the
+ * status the REST API would have answered, and the stream stays open. Only
+ * a scoring executor that refuses work fails the whole call:
+ * RESOURCE_EXHAUSTED when it is saturated, UNAVAILABLE once it is shut down.
+ */
+@Slf4j
+public class PredictionGrpcService extends PredictionServiceGrpc.PredictionServiceImplBase {
+
+    private final RowScorer scorer;
+    private final Executor  executor;
+    private final int       maxInFlight;
+
+    public PredictionGrpcService(RowScorer scorer, Executor executor, int maxInFlight) {
+        this.scorer       = scorer;
+        this.executor     = executor;
+        this.maxInFlight  = maxInFlight;
+    }
+
+    @Override
+    public StreamObserver<PredictRequest> predict(StreamObserver<PredictResponse> responseObserver) {
+        ServerCallStreamObserver<PredictResponse> out = (ServerCallStreamObserver<PredictResponse>) responseObserver;
+        PredictStream stream = new PredictStream(out);
+        out.disableAutoRequest();
+        out.setOnReadyHandler(stream::onReady);
+        out.setOnCancelHandler(stream::onCancel);
+        out.request(maxInFlight);
+        return stream;
+    }
+
+    PredictResponse score(PredictRequest request) {
+        PredictResponse.Builder response = PredictResponse.newBuilder().setId(request.getId());
+        String modelId = request.getModelId();
+        try {
+            if (request.getRowsCount() == 0) {
+                throw new IllegalArgumentException("Instances list cannot be empty");
+            }
+            FeaturePlan plan = scorer.plan(modelId);
+            double[][] rows = bind(modelId, plan, request.getRowsList());
+            List<Object> predictions = rows.length == 1
+                                     ? List.of(scorer.predictRow(modelId, plan, rows[0]))
+                                     : scorer.predictRows(modelId, plan, rows);
+            for (Object p : predictions) {
+                response.addPredictions(p instanceof Number n
+                                        ? Prediction.newBuilder().setNumber(n.doubleValue())
+                                        : Prediction.newBuilder().setLabel(String.valueOf(p)));
+            }
+        } catch (RuntimeException e) {
+            response.clearPredictions().setError(error(modelId, e));
+        }
+        return response.build();
+    }
+
+    /**
+     * Rows arrive in row encoding, like the binary REST transport, and go
+     * through the same {@link FeaturePlan#bindEncoded} checks.
+     */
+    private double[][] bind(String modelId, FeaturePlan plan, List<Row> rows) {
+        long start = System.nanoTime();
+        double[][] bound = new double[rows.size()][];
+        for (int r = 0; r < bound.length; r++) {
+            Row row = rows.get(r);
+            bound[r] = plan.bindEncoded(row.getValuesCount(), row::getValues);
+        }
+        scorer.timers(modelId).bind().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return bound;
+    }
+
+    private static Error error(String modelId, RuntimeException e) {
+        int status;
+        if (e instanceof ModelNotFoundException) {
+            status = 404;
+        }
+        else if (e instanceof IllegalArgumentException) {
+            status = 400;
+        }
+        else if (e instanceof ModelOverloadedException) {
+            status = 429;
+        }
+        else if (e instanceof InferenceOverloadedException
+              || e instanceof ModelLoadTimeoutException
+              || e instanceof ModelChangedException
+              || e instanceof StorageException) {
+            status = 503;
+        }
+        else {
+            log.error("❌ Unexpected gRPC scoring error for `{}`: {}", modelId, e.getMessage(), e);
+            return Error.newBuilder().setStatus(500).setMessage("Unexpected error occurred").build();
+        }
+        return Error.newBuilder().setStatus(status).setMessage(String.valueOf(e.getMessage())).build();
+    }
+
+    /**
+     * One client stream. All fields are guarded by {@code this}, which also
+     * serializes calls on the (not thread-safe) response observer.
+     */
+    private final class PredictStream implements StreamObserver<PredictRequest> {
+
+        private final ServerCallStreamObserver<PredictResponse> out;
+        private int     inFlight;
+        /** Answered requests whose inbound slot waits for the outbound side to be ready. */
+        private int     owed;
+        private boolean halfClosed;
+        private boolean done;
+
+        PredictStream(ServerCallStreamObserver<PredictResponse> out) {
+            this.out = out;
+        }
+
+        @Override
+        public void onNext(PredictRequest request) {
+            synchronized (this) {
+                inFlight++;
+            }
+            try {
+                executor.execute(() -> answer(score(request)));
+            } catch (RejectedExecutionException e) {
+                reject(e);
+            }
+        }
+
+        /**
+         * The scoring executor is shut down or saturated: the request cannot
+         * be answered, so end the call instead of leaving it (and
+         * {@link #completeIfDrained}) waiting forever.
+         */
+        private synchronized void reject(RejectedExecutionException e) {
+            inFlight--;
+            if (done) {
+                return;
+            }
+            done = true;
+            if (executor instanceof ExecutorService pool && pool.isShutdown()) {
+                log.warn("📡 gRPC scoring executor rejected a request: {}", e.getMessage());
+                out.onError(Status.UNAVAILABLE.withDescription("Scoring executor unavailable").withCause(e).asRuntimeException());
+                return;
+            }
+            log.debug("📡 gRPC scoring executor saturated, call shed");
+            out.onError(Status.RESOURCE_EXHAUSTED.withDescription("Scoring executor saturated, retry later").asRuntimeException());
+        }
+
+        private synchronized void answer(PredictResponse response) {
+            inFlight--;
+            if (done) {
+                return;
+            }
+            out.onNext(response);
+            owed++;
+            release();
+            completeIfDrained();
+        }
+
+        synchronized void onReady() {
+            release();
+        }
+
+        synchronized void onCancel() {
+            done = true;
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            done = true;
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            halfClosed = true;
+            completeIfDrained();
+        }
+
+        private void release() {
+            if (owed > 0 && !halfClosed && !done && out.isReady()) {
+                out.request(owed);
+                owed = 0;
+            }
+        }
+
+        private void completeIfDrained() {
+            if (halfClosed && inFlight == 0 && !done) {
+                done = true;
+                out.onCompleted();
+            }
+        }
+    }
+}
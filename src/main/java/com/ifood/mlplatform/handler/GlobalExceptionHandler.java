@@ -1,5 +1,7 @@
 package com.ifood.mlplatform.handler;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -8,22 +10,41 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelChangedException;
+import com.ifood.mlplatform.exception.ModelLoadTimeoutException;
 import com.ifood.mlplatform.exception.ModelNotFoundException;
+import com.ifood.mlplatform.exception.ModelOverloadedException;
 import com.ifood.mlplatform.exception.StorageException;
 
 import java.util.Map;
 
 @RestControllerAdvice
 @Slf4j
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * {@code model.errors{exception, status}}: one counter per mapped exception type.
+     */
+    private void count(Exception ex, HttpStatus status) {
+        meterRegistry.counter("model.errors",
+                              "exception", ex.getClass().getSimpleName(),
+                              "status", String.valueOf(status.value()))
+                     .increment();
+    }
+
     @ExceptionHandler(ModelNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleModelNotFound(ModelNotFoundException ex) {
+        count(ex, HttpStatus.NOT_FOUND);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("message", ex.getMessage()));
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         log.warn("⚠️ Invalid request: {}", ex.getMessage());
         return ResponseEntity
                 .status(HttpStatus.BAD_REQUEST)
@@ -32,6 +53,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, String>> handleMalformedJson(HttpMessageNotReadableException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         log.warn("⚠️ Invalid request: {}", ex.getMessage());
         return ResponseEntity
             .status(HttpStatus.BAD_REQUEST)
@@ -40,6 +62,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
     public ResponseEntity<Map<String, String>> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
+        count(ex, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
         log.warn("⚠️ Invalid request: {}", ex.getMessage());
         return ResponseEntity
             .status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
@@ -48,6 +71,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleStorage(MethodArgumentNotValidException ex) {
+        count(ex, HttpStatus.BAD_REQUEST);
         log.warn("⚠️ Invalid request: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                              .body(Map.of("message", ex.getMessage()));
@@ -55,13 +79,52 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(StorageException.class)
     public ResponseEntity<Map<String, String>> handleStorage(StorageException ex) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
         log.warn("❌ Invalid request: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
                              .body(Map.of("message", ex.getMessage()));
     }
 
+    @ExceptionHandler(ModelLoadTimeoutException.class)
+    public ResponseEntity<Map<String, String>> handleModelLoadTimeout(ModelLoadTimeoutException ex) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        log.warn("⏳ Model not ready: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header("Retry-After", "1")
+                             .body(Map.of("message", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ModelChangedException.class)
+    public ResponseEntity<Map<String, String>> handleModelChanged(ModelChangedException ex) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        log.info("🔄 {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header("Retry-After", "0")
+                             .body(Map.of("message", ex.getMessage()));
+    }
+
+    @ExceptionHandler(InferenceOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleInferenceOverloaded(InferenceOverloadedException ex) {
+        count(ex, HttpStatus.SERVICE_UNAVAILABLE);
+        // counted in model_errors_total; one line per shed request would flood the log under load
+        log.debug("🚦 Overloaded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                             .header("Retry-After", "1")
+                             .body(Map.of("message", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ModelOverloadedException.class)
+    public ResponseEntity<Map<String, String>> handleModelOverloaded(ModelOverloadedException ex) {
+        count(ex, HttpStatus.TOO_MANY_REQUESTS);
+        log.debug("🚦 Shed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                             .header("Retry-After", "1")
+                             .body(Map.of("message", ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleUnknown(Exception ex) {
+        count(ex, HttpStatus.INTERNAL_SERVER_ERROR);
         log.error("❌ Unexpected error: {}", ex.getMessage(), ex);
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,162 @@
+package com.ifood.mlplatform.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link FeaturePlan.Converter} of a categorical feature: resolves a category
+ * to its code, the category's index in the schema's {@code categories}.
+ *
+ * The lookup table is built once at load time: open addressing at a load
+ * factor of at most 1/2, with the keys' hashes stored next to them. A lookup
+ * hashes the value once, skips slots whose hash differs and runs a single
+ * character comparison on the hit. {@link #fromChars} hashes the parser's
+ * buffer in place, so a JSON string costs no String allocation.
+ *
+ * Values missing from the table follow the feature's {@code unknown} policy:
+ * <ul>
+ *   <li>{@code error} (default): rejected, which the API answers with 400;</li>
+ *   <li>{@code other}: mapped to the reserved code {@code categories.size()}.
+ *       Training never saw that code, so every equality split sends it down
+ *       the "not equal" branch.</li>
+ * </ul>
+ */
+public final class CategoricalConverter implements FeaturePlan.Converter {
+
+    public static final String UNKNOWN_ERROR = "error";
+    public static final String UNKNOWN_OTHER = "other";
+
+    private final String[] categories;
+    private final boolean  mapUnknown;
+    private final String[] keys;
+    private final int[]    hashes;
+    private final int[]    codes;
+    private final int      mask;
+
+    public CategoricalConverter(List<String> categories, String unknown) {
+        if (categories == null || categories.isEmpty()) {
+            throw new IllegalArgumentException("Categorical feature needs a non-empty categories list");
+        }
+        String policy = unknown == null ? UNKNOWN_ERROR : unknown.toLowerCase(Locale.ROOT);
+        if (!UNKNOWN_ERROR.equals(policy) && !UNKNOWN_OTHER.equals(policy)) {
+            throw new IllegalArgumentException("Unsupported unknown-category policy: " + unknown);
+        }
+        this.categories = categories.toArray(new String[0]);
+        this.mapUnknown = UNKNOWN_OTHER.equals(policy);
+
+        int capacity = Integer.highestOneBit(Math.max(2, this.categories.length) * 2 - 1) << 1;
+        this.keys   = new String[capacity];
+        this.hashes = new int[capacity];
+        this.codes  = new int[capacity];
+        this.mask   = capacity - 1;
+        for (int code = 0; code < this.categories.length; code++) {
+            String key = this.categories[code];
+            int h = spread(key.hashCode());
+            int i = h & mask;
+            while (keys[i] != null) {
+                if (keys[i].equals(key)) {
+                    throw new IllegalArgumentException("Duplicate category: " + key);
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i]   = key;
+            hashes[i] = h;
+            codes[i]  = code;
+        }
+    }
+
+    /** Number of declared categories; the {@code other} code equals it. */
+    public int size() {
+        return categories.length;
+    }
+
+    public String category(int code) {
+        return code >= 0 && code < categories.length ? categories[code] : null;
+    }
+
+    @Override
+    public double fromText(String text) {
+        int h = spread(text.hashCode());
+        for (int i = h & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == h && keys[i].equals(text)) {
+                return codes[i];
+            }
+        }
+        return unknown(text);
+    }
+
+    @Override
+    public double fromChars(char[] buf, int offset, int length) {
+        int raw = 0;
+        for (int c = offset, end = offset + length; c < end; c++) {
+            raw = 31 * raw + buf[c];
+        }
+        int h = spread(raw);
+        for (int i = h & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == h && sameChars(keys[i], buf, offset, length)) {
+                return codes[i];
+            }
+        }
+        return unknown(new String(buf, offset, length));
+    }
+
+    /** Numeric categories ("1", "2", ...) may arrive as JSON numbers. */
+    @Override
+    public double fromNumber(double v) {
+        return fromText(v == Math.rint(v) && Math.abs(v) < 1e15 ? Long.toString((long) v) : Double.toString(v));
+    }
+
+    @Override
+    public double fromBoolean(boolean v) {
+        return fromText(Boolean.toString(v));
+    }
+
+    /**
+     * An encoded value is a code: an integer below {@link #size()}, or equal
+     * to it under the {@code other} policy. NaN and infinities fail too.
+     */
+    @Override
+    public double fromEncoded(double v) {
+        if (v == Math.rint(v) && v >= 0 && (v < categories.length || (mapUnknown && v == categories.length))) {
+            return v;
+        }
+        throw new IllegalArgumentException("Invalid category code: " + v);
+    }
+
+    /** Same categories in the same order and the same policy encode rows identically. */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CategoricalConverter other
+            && mapUnknown == other.mapUnknown
+            && Arrays.equals(categories, other.categories);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(categories) + (mapUnknown ? 1 : 0);
+    }
+
+    private double unknown(String value) {
+        if (mapUnknown) {
+            return categories.length;
+        }
+        throw new IllegalArgumentException("Unknown category: " + value);
+    }
+
+    private static boolean sameChars(String key, char[] buf, int offset, int length) {
+        if (key.length() != length) {
+            return false;
+        }
+        for (int c = 0; c < length; c++) {
+            if (key.charAt(c) != buf[offset + c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
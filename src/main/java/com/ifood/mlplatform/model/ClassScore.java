@@ -0,0 +1,8 @@
+package com.ifood.mlplatform.model;
+
+/**
+ * Probability of one class for one row; {@code label} is the class name
+ * from the metadata (or the raw class index when it has none).
+ */
+public record ClassScore(Object label, double probability) {
+}
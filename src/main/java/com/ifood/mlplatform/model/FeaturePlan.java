@@ -0,0 +1,243 @@
+package com.ifood.mlplatform.model;
+
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Precompiled binding of a {@link ModelMetadata} to a primitive row layout.
+ *
+ * Built once per model at load time: every feature gets a fixed slot and a
+ * typed converter, so the request path only fills a {@code double[]} instead
+ * of resolving schema names and re-checking types on every call. Rows are
+ * {@link #width()} long: the features in schema order plus one trailing
+ * dummy label slot (Smile binds the full schema, label included).
+ */
+public final class FeaturePlan {
+
+    private final String[]             names;
+    private final Converter[]          converters;
+    private final Map<String, Integer> slots;
+    private final int                  width;
+
+    private FeaturePlan(String[] names, Converter[] converters) {
+        this.names      = names;
+        this.converters = converters;
+        this.width      = names.length + 1;
+        this.slots      = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            slots.put(names[i], i);
+        }
+    }
+
+    public static FeaturePlan compile(ModelMetadata md) {
+        List<ModelMetadata.Feature> features = md.features;
+        String[]    names      = new String[features.size()];
+        Converter[] converters = new Converter[features.size()];
+        for (int i = 0; i < names.length; i++) {
+            ModelMetadata.Feature f = features.get(i);
+            names[i]      = f.name;
+            converters[i] = converterFor(f);
+        }
+        return new FeaturePlan(names, converters);
+    }
+
+    /**
+     * Typed converter of a single feature, e.g. for readers that parse
+     * training data column by column.
+     */
+    public static Converter converterFor(ModelMetadata.Feature f) {
+        String type = f.type == null ? "double" : f.type.toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case "double", "integer", "string" -> NUMERIC;
+            case "boolean"                     -> BOOLEAN;
+            case "categorical"                 -> new CategoricalConverter(f.categories, f.unknown);
+            default -> throw new IllegalArgumentException("Unsupported type: " + f.type);
+        };
+    }
+
+    /** Number of input features (row slots before the label). */
+    public int featureCount() {
+        return names.length;
+    }
+
+    /** Full row length: features + 1 label slot. */
+    public int width() {
+        return width;
+    }
+
+    public String name(int slot) {
+        return names[slot];
+    }
+
+    public String[] names() {
+        return names.clone();
+    }
+
+    /** Slot index for a feature name, or -1 when the model does not use it. */
+    public int slot(String name) {
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * True when rows bound by {@code other} mean the same thing to this plan:
+     * same features, same order, same encodings. Lets one bound row be scored
+     * by several versions of a model.
+     */
+    public boolean compatibleWith(FeaturePlan other) {
+        return this == other
+            || (Arrays.equals(names, other.names) && Arrays.equals(converters, other.converters));
+    }
+
+    /** True when any feature is categorical, i.e. holds codes rather than values. */
+    public boolean hasCategorical() {
+        for (Converter c : converters) {
+            if (c instanceof CategoricalConverter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Converter converter(int slot) {
+        return converters[slot];
+    }
+
+    /** A fresh zeroed row, safe to hand to another thread. */
+    public double[] newRow() {
+        return new double[width];
+    }
+
+    /**
+     * Bind a feature-map into a fresh row, which the caller owns.
+     */
+    public double[] bind(Map<String, Object> features) {
+        return bind(features, newRow());
+    }
+
+    /**
+     * Bind a feature-map into {@code row}, in schema order.
+     * Missing or unparsable values raise IllegalArgumentException.
+     */
+    public double[] bind(Map<String, Object> features, double[] row) {
+        for (int i = 0; i < names.length; i++) {
+            Object v = features.get(names[i]);
+            if (v == null) {
+                throw missing(i);
+            }
+            row[i] = convert(i, v);
+        }
+        row[names.length] = 0;
+        return row;
+    }
+
+    /**
+     * Bind a row that arrives already in row encoding (binary and gRPC
+     * transports) into a fresh row. Such values skip the parsing that
+     * validates JSON input, so each one goes through its converter's
+     * {@link Converter#fromEncoded} check instead: no NaN or infinities,
+     * booleans 0/1, categorical codes in range.
+     *
+     * @param count  values the caller sent for this row
+     * @param values value of each slot, by index
+     */
+    public double[] bindEncoded(int count, IntToDoubleFunction values) {
+        if (count != names.length) {
+            throw new IllegalArgumentException("Expected " + names.length + " features per row, got " + count);
+        }
+        double[] row = newRow();
+        for (int i = 0; i < names.length; i++) {
+            double v = values.applyAsDouble(i);
+            try {
+                row[i] = converters[i].fromEncoded(v);
+            } catch (RuntimeException e) {
+                throw invalid(i, e);
+            }
+        }
+        return row;
+    }
+
+    /** Convert an already-decoded JSON value for the given slot. */
+    public double convert(int slot, Object v) {
+        Converter c = converters[slot];
+        try {
+            if (v instanceof Number n) {
+                return c.fromNumber(n.doubleValue());
+            }
+            if (v instanceof Boolean b) {
+                return c.fromBoolean(b);
+            }
+            return c.fromText(v.toString());
+        } catch (RuntimeException e) {
+            throw invalid(slot, e);
+        }
+    }
+
+    public IllegalArgumentException missing(int slot) {
+        return new IllegalArgumentException("Missing feature: " + names[slot]);
+    }
+
+    public IllegalArgumentException invalid(int slot, Throwable cause) {
+        return new IllegalArgumentException("Invalid value for feature: " + names[slot], cause);
+    }
+
+    /**
+     * Typed conversion of one JSON value kind into the row's double encoding.
+     * Implementations throw any RuntimeException on bad input; the plan
+     * rewraps it with the feature name.
+     */
+    public interface Converter {
+        double fromNumber(double v);
+        double fromText(String text);
+        double fromBoolean(boolean v);
+
+        /**
+         * Convert text held in a parser's buffer. Converters that can match
+         * characters in place override this to skip the String allocation.
+         */
+        default double fromChars(char[] buf, int offset, int length) {
+            return fromText(new String(buf, offset, length));
+        }
+
+        /**
+         * Check a value a client sent already in row encoding and return it.
+         * Numeric features only need to be finite.
+         */
+        default double fromEncoded(double v) {
+            if (!Double.isFinite(v)) {
+                throw new IllegalArgumentException("Expected a finite number, got " + v);
+            }
+            return v;
+        }
+    }
+
+    private static final Converter NUMERIC = new Converter() {
+        @Override public double fromNumber(double v)   { return v; }
+        @Override public double fromText(String text)  { return Double.parseDouble(text); }
+        @Override public double fromBoolean(boolean v) {
+            throw new IllegalArgumentException("Expected a number, got " + v);
+        }
+    };
+
+    private static final Converter BOOLEAN = new Converter() {
+        @Override public double fromNumber(double v)   { return v; }
+        @Override public double fromText(String text)  {
+            if ("true".equalsIgnoreCase(text))  return 1;
+            if ("false".equalsIgnoreCase(text)) return 0;
+            return Double.parseDouble(text);
+        }
+        @Override public double fromBoolean(boolean v) { return v ? 1 : 0; }
+        @Override public double fromEncoded(double v)  {
+            if (v != 0 && v != 1) {
+                throw new IllegalArgumentException("Expected 0 or 1, got " + v);
+            }
+            return v;
+        }
+    };
+}
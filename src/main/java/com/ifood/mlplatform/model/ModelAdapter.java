@@ -1,7 +1,5 @@
 package com.ifood.mlplatform.model;
 
-import java.io.Serializable;
-
 import com.ifood.mlplatform.model.metadata.ModelMetadata;
 import com.ifood.mlplatform.model.Predictable;
 
@@ -11,5 +9,10 @@ public interface ModelAdapter {
      * models from metadata.framework
      */
     boolean supports(ModelMetadata metadata);
-    Predictable load(Serializable rawModel, ModelMetadata metadata);
+
+    /**
+     * Wrap the raw artifact (a deserialized model.bin, or a mapped
+     * model.forest for {@code "format": "forest"}) as a Predictable.
+     */
+    Predictable load(Object rawModel, ModelMetadata metadata);
 }
@@ -0,0 +1,48 @@
+package com.ifood.mlplatform.model;
+
+import com.ifood.mlplatform.exception.ModelNotFoundException;
+
+import java.util.regex.Pattern;
+
+/**
+ * A requested model: {@code modelId} follows the bucket's {@code current}
+ * pointer, {@code modelId@v3} pins one version.
+ *
+ * Versioned artifacts live under {@code modelId/v{n}/}; the pointer is the
+ * object {@code modelId/current} holding the active version name. Models
+ * trained before versioning have neither and are read from {@code modelId/}.
+ */
+public record ModelKey(String modelId, String version) {
+
+    public static final String CURRENT = "current";
+
+    private static final Pattern VERSION = Pattern.compile("v\\d+");
+
+    public static ModelKey parse(String key) {
+        int at = key.indexOf('@');
+        if (at < 0) {
+            return new ModelKey(key, null);
+        }
+        String version = key.substring(at + 1);
+        if (at == 0 || !VERSION.matcher(version).matches()) {
+            throw new ModelNotFoundException(key);
+        }
+        return new ModelKey(key.substring(0, at), version);
+    }
+
+    public boolean pinned() {
+        return version != null;
+    }
+
+    /** Object holding the active version of this model. */
+    public String pointerObject() {
+        return modelId + "/" + CURRENT;
+    }
+
+    /** Prefix of the artifacts of {@code version}; null means the unversioned legacy layout. */
+    public String prefix(String version) {
+        return version == null
+             ? modelId + "/"
+             : modelId + "/" + version + "/";
+    }
+}
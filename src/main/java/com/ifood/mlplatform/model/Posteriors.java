@@ -0,0 +1,119 @@
+package com.ifood.mlplatform.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class-probability output of one classifier.
+ *
+ * Soft predictions fill a posterior buffer kept per platform thread, so a
+ * pooled request thread scores without allocating one. Top-k selection
+ * keeps a min-heap of k class indexes, {@code O(n log k)} instead of
+ * sorting all n classes.
+ */
+public final class Posteriors {
+
+    private final Object[]             labels;
+    private final ThreadLocal<double[]> scratch;
+
+    /**
+     * @param labels label reported for each posterior index
+     */
+    public Posteriors(Object[] labels) {
+        this.labels  = labels;
+        this.scratch = ThreadLocal.withInitial(this::newBuffer);
+    }
+
+    public int numClasses() {
+        return labels.length;
+    }
+
+    /** A fresh zeroed posterior array, one slot per class. */
+    public double[] newBuffer() {
+        return new double[labels.length];
+    }
+
+    /**
+     * A zeroed posterior array for one call on this thread; it must not
+     * outlive the call. Reused on platform threads; a virtual thread runs
+     * a single request, so it gets a fresh array instead of a thread-local
+     * it would never reuse.
+     */
+    public double[] buffer() {
+        if (Thread.currentThread().isVirtual()) {
+            return newBuffer();
+        }
+        double[] p = scratch.get();
+        Arrays.fill(p, 0);
+        return p;
+    }
+
+    /**
+     * The {@code k} most probable classes, best first; {@code k <= 0}
+     * returns every class. Ties keep the lower class index first.
+     */
+    public List<ClassScore> top(double[] posteriors, int k) {
+        int[] best = topIndexes(posteriors, k <= 0 ? posteriors.length : Math.min(k, posteriors.length));
+        List<ClassScore> out = new ArrayList<>(best.length);
+        for (int i : best) {
+            out.add(new ClassScore(labels[i], posteriors[i]));
+        }
+        return out;
+    }
+
+    static int[] topIndexes(double[] p, int k) {
+        int[] heap = new int[k];
+        int   size = 0;
+        for (int i = 0; i < p.length; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(p, heap, size++);
+            }
+            else if (worse(p, heap[0], i)) {
+                heap[0] = i;
+                siftDown(p, heap, 0, size);
+            }
+        }
+        // pop the worst to the back until the heap is empty: best ends up first
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0]   = heap[end];
+            heap[end] = worst;
+            siftDown(p, heap, 0, end);
+        }
+        return heap;
+    }
+
+    /** True when class {@code a} ranks below class {@code b}. */
+    private static boolean worse(double[] p, int a, int b) {
+        return p[a] < p[b] || (p[a] == p[b] && a > b);
+    }
+
+    private static void siftUp(double[] p, int[] heap, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(p, heap[i], heap[parent])) {
+                return;
+            }
+            int t = heap[i]; heap[i] = heap[parent]; heap[parent] = t;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(double[] p, int[] heap, int i, int size) {
+        while (true) {
+            int l = 2 * i + 1;
+            if (l >= size) {
+                return;
+            }
+            int r = l + 1;
+            int c = r < size && worse(p, heap[r], heap[l]) ? r : l;
+            if (!worse(p, heap[c], heap[i])) {
+                return;
+            }
+            int t = heap[i]; heap[i] = heap[c]; heap[c] = t;
+            i = c;
+        }
+    }
+}
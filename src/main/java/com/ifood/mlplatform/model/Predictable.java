@@ -1,7 +1,51 @@
 package com.ifood.mlplatform.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public interface Predictable {
-    Object predict(Map<String, Object> features);
-}
\ No newline at end of file
+
+    /** The compiled feature layout rows must follow. */
+    FeaturePlan plan();
+
+    /**
+     * Score one row already bound through {@link #plan()}.
+     * Implementations must not keep a reference to {@code row}.
+     */
+    Object predictRow(double[] row);
+
+    /**
+     * Class probabilities of one bound row, best first; {@code k <= 0}
+     * returns every class. Null when the model has no class probabilities
+     * (regressions, hard classifiers).
+     */
+    default List<ClassScore> predictScores(double[] row, int k) {
+        return null;
+    }
+
+    default Object predict(Map<String, Object> features) {
+        return predictRow(plan().bind(features));
+    }
+
+    /**
+     * Score several bound rows in one call, results in input order.
+     * Adapters able to vectorize should override; the default just loops.
+     */
+    default List<Object> predictRows(double[][] rows) {
+        List<Object> predictions = new ArrayList<>(rows.length);
+        for (double[] row : rows) {
+            predictions.add(predictRow(row));
+        }
+        return predictions;
+    }
+
+    default List<Object> predictBatch(List<Map<String, Object>> rows) {
+        FeaturePlan plan = plan();
+        double[][] bound = new double[rows.size()][];
+        for (int r = 0; r < bound.length; r++) {
+            bound[r] = plan.bind(rows.get(r), plan.newRow());
+        }
+        return predictRows(bound);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ifood.mlplatform.model.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ifood.mlplatform.model.ClassScore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchPredictionResponse {
+
+    /**
+     * One prediction per requested row, in request order.
+     */
+    @JsonProperty("predictions")
+    private List<Object> predictions;
+
+    /**
+     * Class probabilities per row, best first; only with {@code output=probabilities}.
+     */
+    @JsonProperty("scores")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<List<ClassScore>> scores;
+
+    public BatchPredictionResponse(List<Object> predictions) {
+        this.predictions = predictions;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ifood.mlplatform.model.dto;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+
+/**
+ * Request body already bound to a model's {@link com.ifood.mlplatform.model.FeaturePlan}:
+ * one primitive row per instance, in schema order. Produced by
+ * {@link com.ifood.mlplatform.codec.FeatureRowsHttpMessageConverter}
+ * so no intermediate {@code Map<String, Object>} is ever built.
+ *
+ * {@code shape} records which body form was sent, so each endpoint can
+ * refuse the other's: a {@code {"instances": [...]}} body on the single
+ * endpoint is an error, not its first row. {@code plan} is the layout the
+ * rows were bound with; scoring checks the model still reads slots that way.
+ */
+public record BoundFeatures(double[][] rows, Shape shape, FeaturePlan plan) {
+
+    public enum Shape {
+        /** {@code {"features": {...}}} */
+        SINGLE,
+        /** {@code {"instances": [{...}, ...]}} */
+        BATCH,
+        /** Binary rows, valid on both endpoints. */
+        ROWS
+    }
+
+    /**
+     * The single row of a {@code {"features": {...}}} body.
+     */
+    public double[] single() {
+        if (shape == Shape.BATCH) {
+            throw new IllegalArgumentException("`instances` is for /batch; send one row as `features`");
+        }
+        if (rows.length != 1) {
+            throw new IllegalArgumentException("Features map must be provided");
+        }
+        return rows[0];
+    }
+
+    /**
+     * The rows of a {@code {"instances": [...]}} body.
+     */
+    public double[][] batch() {
+        if (shape == Shape.SINGLE) {
+            throw new IllegalArgumentException("/batch expects `instances`, a list of feature maps");
+        }
+        return rows;
+    }
+}
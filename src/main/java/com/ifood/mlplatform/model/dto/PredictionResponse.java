@@ -1,10 +1,14 @@
 package com.ifood.mlplatform.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ifood.mlplatform.model.ClassScore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor    
 @AllArgsConstructor   
@@ -15,4 +19,15 @@ public class PredictionResponse {
      */
     @JsonProperty("prediction")
     private Object prediction;
+
+    /**
+     * Class probabilities, best first; only with {@code output=probabilities}.
+     */
+    @JsonProperty("scores")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ClassScore> scores;
+
+    public PredictionResponse(Object prediction) {
+        this.prediction = prediction;
+    }
 }
@@ -1,18 +1,31 @@
 package com.ifood.mlplatform.model.dto;
 
+import com.ifood.mlplatform.model.ClassScore;
+import com.ifood.mlplatform.model.FeaturePlan;
 import com.ifood.mlplatform.model.ModelAdapter;
+import com.ifood.mlplatform.model.Posteriors;
 import com.ifood.mlplatform.model.Predictable;
 import com.ifood.mlplatform.model.metadata.ModelMetadata;
 import com.ifood.mlplatform.util.MetadataConverter;
 
-import lombok.RequiredArgsConstructor;
 import smile.classification.Classifier;
+import smile.classification.DataFrameClassifier;
+import smile.data.DataFrame;
 import smile.data.Tuple;
+import smile.data.type.DataType;
+import smile.data.type.StructField;
 import smile.data.type.StructType;
+import smile.data.vector.BaseVector;
+import smile.data.vector.BooleanVector;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.IntVector;
+import smile.data.vector.StringVector;
+import smile.regression.DataFrameRegression;
 import smile.regression.Regression;
 
 import java.io.Serializable;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.stereotype.Component;
 
@@ -21,69 +34,50 @@ public class SmileAdapter implements ModelAdapter {
 
     @Override
     public boolean supports(ModelMetadata md) {
-        return "SMILE".equalsIgnoreCase(md.framework);
+        return "SMILE".equalsIgnoreCase(md.framework)
+            && !ModelMetadata.FORMAT_FOREST.equalsIgnoreCase(md.format);
     }
 
     @Override
-    public Predictable load(Serializable rawModel, ModelMetadata md) {
+    public Predictable load(Object rawModel, ModelMetadata md) {
         // 1) schema completo (features + label) para criar o Tuple
         StructType fullSchema = MetadataConverter.toFullSchema(md);
-        // 2) número de colunas que são *features* (sem o label)
-        int featureCount = md.features.size();
+        // 2) plano de binding: slots fixos + conversores tipados
+        FeaturePlan plan = FeaturePlan.compile(md);
         // 3) nomes das classes para tradução
         String[] classes = md.label.classes.toArray(new String[0]);
-        return new SmilePredictor(rawModel, fullSchema, classes, featureCount);
+        return new SmilePredictor((Serializable) rawModel, fullSchema, plan, classes);
     }
 
-    @RequiredArgsConstructor
-    private static class SmilePredictor implements Predictable, Serializable {
-        private final Serializable model;
-        private final StructType  schema;
-        private final String[]    classes;
-        private final int         featureCount;
+    private static class SmilePredictor implements Predictable {
+        private final Serializable      model;
+        private final StructType        schema;
+        private final FeaturePlan       plan;
+        private final String[]          classes;
+        // false if a feature column is neither double nor int, which batch frames cannot hold
+        private final boolean           framed;
+        // resolved once so predictRow does no type checks
+        private final Classifier<Tuple> classifier;
+        private final Regression<Tuple> regression;
+        // null unless the classifier is soft (has posteriors)
+        private final Posteriors        posteriors;
 
-        @Override
-        public Object predict(Map<String, Object> features) {
-            // 1) cria o vetor completo: features + 1 slot de dummy label
-            double[] row = new double[schema.length()];
-
-            // 2) percorre apenas as colunas de input
-            for (int i = 0; i < featureCount; i++) {
-                String name = schema.field(i).name;
-                Object v = features.get(name);
-                if (v == null) {
-                    throw new IllegalArgumentException("Missing feature: " + name);
-                }
-                try {
-                    row[i] = (v instanceof Number)
-                           ? ((Number) v).doubleValue()
-                           : Double.parseDouble(v.toString());
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Invalid value for feature: " + name, e);
-                }
-            }
-
-            // 3) coloca dummy no slot de label
-            row[featureCount] = 0;
-
-            // 4) monta o Tuple e chama SMILE
-            Tuple t = Tuple.of(row, schema);
-            Object raw;
+        @SuppressWarnings("unchecked")
+        SmilePredictor(Serializable model, StructType schema, FeaturePlan plan, String[] classes) {
+            this.model   = model;
+            this.schema  = schema;
+            this.plan    = plan;
+            this.classes = classes;
+            this.framed  = framed(schema, plan.featureCount());
             if (model instanceof Classifier) {
-                @SuppressWarnings("unchecked")
-                Classifier<Tuple> clf = (Classifier<Tuple>) model;
-                raw = clf.predict(t);
-                // traduz índice → rótulo
-                int idx = (Integer) raw;
-                return (idx >= 0 && idx < classes.length)
-                     ? classes[idx]
-                     : idx;
+                this.classifier = (Classifier<Tuple>) model;
+                this.regression = null;
+                this.posteriors = classifier.soft() ? new Posteriors(labels(classifier.classes())) : null;
             }
             else if (model instanceof Regression) {
-                @SuppressWarnings("unchecked")
-                Regression<Tuple> reg = (Regression<Tuple>) model;
-                raw = reg.predict(t);
-                return raw;
+                this.classifier = null;
+                this.regression = (Regression<Tuple>) model;
+                this.posteriors = null;
             }
             else {
                 throw new UnsupportedOperationException(
@@ -91,5 +85,134 @@ public class SmileAdapter implements ModelAdapter {
                 );
             }
         }
+
+        @Override
+        public FeaturePlan plan() {
+            return plan;
+        }
+
+        @Override
+        public Object predictRow(double[] row) {
+            // monta o Tuple (sem cópia) e chama SMILE
+            Tuple t = Tuple.of(row, schema);
+            if (classifier != null) {
+                // traduz índice → rótulo
+                return toLabel(classifier.predict(t));
+            }
+            return regression.predict(t);
+        }
+
+        /**
+         * Soft prediction through Smile's {@code predict(Tuple, double[])},
+         * into the calling thread's posterior buffer.
+         */
+        @Override
+        public List<ClassScore> predictScores(double[] row, int k) {
+            if (posteriors == null) {
+                return null;
+            }
+            double[] p = posteriors.buffer();
+            classifier.predict(Tuple.of(row, schema), p);
+            return posteriors.top(p, k);
+        }
+
+        /**
+         * Score every row through one DataFrame and a single SMILE call;
+         * falls back to per-row scoring for models that cannot take a DataFrame.
+         */
+        @Override
+        public List<Object> predictRows(double[][] rows) {
+            if (!framed) {
+                return Predictable.super.predictRows(rows);
+            }
+            if (model instanceof DataFrameClassifier clf) {
+                int[] raw = clf.predict(frame(rows));
+                List<Object> out = new ArrayList<>(raw.length);
+                for (int idx : raw) {
+                    out.add(toLabel(idx));
+                }
+                return out;
+            }
+            else if (model instanceof DataFrameRegression reg) {
+                double[] raw = reg.predict(frame(rows));
+                List<Object> out = new ArrayList<>(raw.length);
+                for (double y : raw) {
+                    out.add(y);
+                }
+                return out;
+            }
+            return Predictable.super.predictRows(rows);
+        }
+
+        /**
+         * The rows as columns typed by the model's schema, the one the
+         * per-row Tuples use: nominal features stay int codes on their
+         * scale and the label keeps its type, filled with a placeholder
+         * since prediction never reads it.
+         */
+        private DataFrame frame(double[][] rows) {
+            StructField[] fields = schema.fields();
+            BaseVector<?, ?, ?>[] vectors = new BaseVector<?, ?, ?>[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                StructField field = fields[i];
+                vectors[i] = i < plan.featureCount()
+                           ? feature(field, rows, i)
+                           : placeholder(field, rows.length);
+            }
+            return DataFrame.of(vectors);
+        }
+
+        private static BaseVector<?, ?, ?> feature(StructField field, double[][] rows, int slot) {
+            if (field.type.isInt()) {
+                int[] column = new int[rows.length];
+                for (int r = 0; r < rows.length; r++) {
+                    column[r] = (int) rows[r][slot];
+                }
+                return IntVector.of(field, column);
+            }
+            double[] column = new double[rows.length];
+            for (int r = 0; r < rows.length; r++) {
+                column[r] = rows[r][slot];
+            }
+            return DoubleVector.of(field, column);
+        }
+
+        private static BaseVector<?, ?, ?> placeholder(StructField field, int n) {
+            DataType type = field.type;
+            if (type.isInt()) {
+                return IntVector.of(field, new int[n]);
+            }
+            if (type.isBoolean()) {
+                return BooleanVector.of(field, new boolean[n]);
+            }
+            if (type.isString()) {
+                return StringVector.of(field, new String[n]);
+            }
+            return DoubleVector.of(field, new double[n]);
+        }
+
+        private static boolean framed(StructType schema, int features) {
+            for (int i = 0; i < features; i++) {
+                DataType type = schema.field(i).type;
+                if (!type.isInt() && !type.isDouble()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Object[] labels(int[] classLabels) {
+            Object[] out = new Object[classLabels.length];
+            for (int i = 0; i < out.length; i++) {
+                out[i] = toLabel(classLabels[i]);
+            }
+            return out;
+        }
+
+        private Object toLabel(int idx) {
+            return (idx >= 0 && idx < classes.length)
+                 ? classes[idx]
+                 : idx;
+        }
     }
 }
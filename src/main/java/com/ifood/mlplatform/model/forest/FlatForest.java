@@ -0,0 +1,174 @@
+package com.ifood.mlplatform.model.forest;
+
+import java.util.Arrays;
+
+/**
+ * Heap struct-of-arrays layout of a tree ensemble.
+ *
+ * Every node of every tree lives at one index across the parallel arrays:
+ * <ul>
+ *   <li>{@code feature}: row slot tested by the split, {@link #LEAF} for
+ *       leaves, or'ed with {@link #NOMINAL} for equality splits;</li>
+ *   <li>{@code threshold}: split value ({@code x <= t} or {@code x == t}
+ *       goes to {@code left});</li>
+ *   <li>{@code left}/{@code right}: child indexes; for a leaf {@code left}
+ *       holds the tree's output class index and {@code right} its leaf
+ *       number.</li>
+ * </ul>
+ * {@code roots[t]} is tree t's root and {@code labels} maps a class index
+ * to the model label, mirroring Smile's RandomForest voting exactly.
+ * {@code posterior} holds {@code numClasses} probabilities per leaf number,
+ * or is null when the forest was stored without them; {@code weight[t]} is
+ * tree t's weight in soft voting (Smile's {@code RandomForest.Model.weight}),
+ * or null for unit weights.
+ */
+public final class FlatForest implements TreeEnsemble {
+
+    public static final int LEAF    = -1;
+    public static final int NOMINAL = 1 << 30;
+
+    /** Rows scored together per tree pass in {@link #predict(double[][])}. */
+    static final int BLOCK = 64;
+
+    final int      numFeatures;
+    final int[]    labels;
+    final int[]    roots;
+    final int[]    feature;
+    final double[] threshold;
+    final int[]    left;
+    final int[]    right;
+    final double[] posterior;
+    final double[] weight;
+
+    public FlatForest(int numFeatures, int[] labels, int[] roots,
+                      int[] feature, double[] threshold, int[] left, int[] right,
+                      double[] posterior, double[] weight) {
+        this.numFeatures = numFeatures;
+        this.labels      = labels;
+        this.roots       = roots;
+        this.feature     = feature;
+        this.threshold   = threshold;
+        this.left        = left;
+        this.right       = right;
+        this.posterior   = posterior;
+        this.weight      = weight;
+    }
+
+    @Override
+    public int numFeatures() {
+        return numFeatures;
+    }
+
+    @Override
+    public int numClasses() {
+        return labels.length;
+    }
+
+    @Override
+    public int label(int index) {
+        return labels[index];
+    }
+
+    public int numTrees() {
+        return roots.length;
+    }
+
+    public int numNodes() {
+        return feature.length;
+    }
+
+    @Override
+    public int predict(double[] row) {
+        int[] votes = new int[labels.length];
+        for (int root : roots) {
+            votes[leaf(root, row)]++;
+        }
+        return labels[whichMax(votes, 0, votes.length)];
+    }
+
+    /**
+     * Tree-major scoring: each tree walks a block of rows before the next
+     * tree starts, so its nodes stay in cache across the block.
+     */
+    @Override
+    public int[] predict(double[][] rows) {
+        int   k     = labels.length;
+        int[] out   = new int[rows.length];
+        int[] votes = new int[BLOCK * k];
+
+        for (int from = 0; from < rows.length; from += BLOCK) {
+            int to = Math.min(rows.length, from + BLOCK);
+            Arrays.fill(votes, 0);
+            for (int root : roots) {
+                for (int r = from; r < to; r++) {
+                    votes[(r - from) * k + leaf(root, rows[r])]++;
+                }
+            }
+            for (int r = from; r < to; r++) {
+                out[r] = labels[whichMax(votes, (r - from) * k, k)];
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void posteriors(double[] row, double[] out) {
+        int k = labels.length;
+        Arrays.fill(out, 0);
+        for (int t = 0; t < roots.length; t++) {
+            int    n = leafNode(roots[t], row);
+            double w = weight == null ? 1 : weight[t];
+            if (posterior == null) {
+                out[left[n]] += w;
+            }
+            else {
+                int from = right[n] * k;
+                for (int c = 0; c < k; c++) {
+                    out[c] += w * posterior[from + c];
+                }
+            }
+        }
+        normalize(out);
+    }
+
+    /** Walk one tree down to its leaf and return the leaf's class index. */
+    private int leaf(int root, double[] row) {
+        return left[leafNode(root, row)];
+    }
+
+    private int leafNode(int root, double[] row) {
+        int n = root;
+        int f;
+        while ((f = feature[n]) != LEAF) {
+            boolean goLeft = f < NOMINAL
+                           ? row[f] <= threshold[n]
+                           : row[f & ~NOMINAL] == threshold[n];
+            n = goLeft ? left[n] : right[n];
+        }
+        return n;
+    }
+
+    /** Scale to sum 1, as Smile's MathEx.unitize1. */
+    static void normalize(double[] p) {
+        double sum = 0;
+        for (double v : p) {
+            sum += v;
+        }
+        for (int i = 0; i < p.length; i++) {
+            p[i] /= sum;
+        }
+    }
+
+    /**
+     * First index of the maximum, same tie-break as Smile's MathEx.whichMax.
+     */
+    static int whichMax(int[] votes, int from, int length) {
+        int best = 0;
+        for (int i = 1; i < length; i++) {
+            if (votes[from + i] > votes[from + best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ifood.mlplatform.model.forest;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.ModelAdapter;
+import com.ifood.mlplatform.model.Predictable;
+import com.ifood.mlplatform.model.dto.SmileAdapter;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import lombok.extern.slf4j.Slf4j;
+import smile.classification.RandomForest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves Java-serialized Smile RandomForests through a {@link FlatForest}:
+ * the forest is flattened once at load and then scored with primitive
+ * loops instead of Smile's node objects and Tuple accessors. Predictions
+ * are identical to Smile's (same splits, same vote tie-break).
+ *
+ * Ordered ahead of {@link SmileAdapter}; anything that is not a
+ * RandomForest is handed to it. Disable with {@code model.inference.flat-forest=false}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FlatForestAdapter implements ModelAdapter {
+
+    private final SmileAdapter fallback;
+    private final boolean      enabled;
+
+    public FlatForestAdapter(SmileAdapter fallback,
+                             @Value("${model.inference.flat-forest:true}") boolean enabled) {
+        this.fallback = fallback;
+        this.enabled  = enabled;
+    }
+
+    @Override
+    public boolean supports(ModelMetadata md) {
+        return enabled
+            && fallback.supports(md)
+            && "RandomForest".equalsIgnoreCase(md.model_type);
+    }
+
+    @Override
+    public Predictable load(Object rawModel, ModelMetadata md) {
+        if (!(rawModel instanceof RandomForest forest)) {
+            return fallback.load(rawModel, md);
+        }
+        FeaturePlan plan = FeaturePlan.compile(md);
+        FlatForest flat = ForestFlattener.flatten(forest, plan);
+        log.info("🌲 Flattened RandomForest: {} trees / {} nodes", flat.numTrees(), flat.numNodes());
+        String[] classes = md.label.classes.toArray(new String[0]);
+        return new ForestPredictor(flat, plan, classes);
+    }
+}
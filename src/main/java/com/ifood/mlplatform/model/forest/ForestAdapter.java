@@ -0,0 +1,35 @@
+package com.ifood.mlplatform.model.forest;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.ModelAdapter;
+import com.ifood.mlplatform.model.Predictable;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves models shipped as a memory-mapped {@code model.forest}
+ * ({@code "format": "forest"} in schema.json).
+ */
+@Component
+public class ForestAdapter implements ModelAdapter {
+
+    @Override
+    public boolean supports(ModelMetadata md) {
+        return ModelMetadata.FORMAT_FOREST.equalsIgnoreCase(md.format);
+    }
+
+    @Override
+    public Predictable load(Object rawModel, ModelMetadata md) {
+        if (!(rawModel instanceof MappedForest forest)) {
+            throw new IllegalArgumentException("Expected a mapped forest, got " + rawModel.getClass().getName());
+        }
+        FeaturePlan plan = FeaturePlan.compile(md);
+        if (forest.numFeatures() != plan.featureCount()) {
+            throw new IllegalArgumentException("model.forest has " + forest.numFeatures()
+                                               + " features, schema.json " + plan.featureCount());
+        }
+        String[] classes = md.label.classes.toArray(new String[0]);
+        return new ForestPredictor(forest, plan, classes);
+    }
+}
@@ -0,0 +1,134 @@
+package com.ifood.mlplatform.model.forest;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+
+import smile.base.cart.DecisionNode;
+import smile.base.cart.InternalNode;
+import smile.base.cart.NominalNode;
+import smile.base.cart.Node;
+import smile.base.cart.OrdinalNode;
+import smile.classification.DecisionTree;
+import smile.classification.RandomForest;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Converts a trained Smile {@link RandomForest} into a {@link FlatForest}.
+ *
+ * Split features are remapped from the forest's predictor columns to the
+ * {@link FeaturePlan} slots, so the result scores rows bound by the plan
+ * regardless of the column order the forest was trained with.
+ */
+public final class ForestFlattener {
+
+    /**
+     * Split values of Smile's tree nodes. smile-core 3.0.2 keeps them in
+     * package-private fields with no accessor, so they are read through
+     * private-access VarHandles resolved once.
+     */
+    private static final VarHandle ORDINAL_VALUE = splitValue(OrdinalNode.class, double.class);
+    private static final VarHandle NOMINAL_VALUE = splitValue(NominalNode.class, int.class);
+
+    private final int[]    featureToSlot;
+    private int[]          feature;
+    private double[]       threshold;
+    private int[]          left;
+    private int[]          right;
+    private double[]       posterior;
+    private int            next;
+    private int            leaves;
+
+    private ForestFlattener(int[] featureToSlot) {
+        this.featureToSlot = featureToSlot;
+    }
+
+    public static FlatForest flatten(RandomForest forest, FeaturePlan plan) {
+        String[] predictors = forest.schema().names();
+        int[] featureToSlot = new int[predictors.length];
+        for (int i = 0; i < predictors.length; i++) {
+            featureToSlot[i] = plan.slot(predictors[i]);
+            if (featureToSlot[i] < 0) {
+                throw new IllegalArgumentException("Model feature not in schema: " + predictors[i]);
+            }
+        }
+
+        DecisionTree[] trees = forest.trees();
+        int total = 0;
+        int leaves = 0;
+        for (DecisionTree tree : trees) {
+            total  += count(tree.root());
+            leaves += countLeaves(tree.root());
+        }
+        int k = forest.classes().length;
+
+        ForestFlattener f = new ForestFlattener(featureToSlot);
+        f.feature   = new int[total];
+        f.threshold = new double[total];
+        f.left      = new int[total];
+        f.right     = new int[total];
+        f.posterior = new double[leaves * k];
+
+        int[]    roots  = new int[trees.length];
+        double[] weight = new double[trees.length];
+        for (int t = 0; t < trees.length; t++) {
+            roots[t]  = f.append(trees[t].root());
+            // Smile's soft vote weighs each tree's posteriors by its out-of-bag accuracy
+            weight[t] = forest.models()[t].weight;
+        }
+        return new FlatForest(plan.featureCount(), forest.classes(), roots,
+                              f.feature, f.threshold, f.left, f.right, f.posterior, weight);
+    }
+
+    private static VarHandle splitValue(Class<?> node, Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(node, MethodHandles.lookup()).findVarHandle(node, "value", type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static int count(Node node) {
+        if (node instanceof InternalNode in) {
+            return 1 + count(in.trueChild()) + count(in.falseChild());
+        }
+        return 1;
+    }
+
+    private static int countLeaves(Node node) {
+        if (node instanceof InternalNode in) {
+            return countLeaves(in.trueChild()) + countLeaves(in.falseChild());
+        }
+        return 1;
+    }
+
+    /** Depth-first, parent before children; returns the node's index. */
+    private int append(Node node) {
+        int id = next++;
+        if (node instanceof OrdinalNode on) {
+            feature[id]   = featureToSlot[on.feature()];
+            threshold[id] = (double) ORDINAL_VALUE.get(on);
+        }
+        else if (node instanceof NominalNode nn) {
+            feature[id]   = featureToSlot[nn.feature()] | FlatForest.NOMINAL;
+            threshold[id] = (int) NOMINAL_VALUE.get(nn);
+        }
+        else if (node instanceof DecisionNode dn) {
+            feature[id] = FlatForest.LEAF;
+            left[id]    = dn.output();
+            right[id]   = leaves;
+            // same smoothing as Smile's soft DecisionTree.predict
+            int k = dn.count().length;
+            System.arraycopy(DecisionNode.posteriori(dn.count(), new double[k]), 0, posterior, leaves * k, k);
+            leaves++;
+            return id;
+        }
+        else {
+            throw new UnsupportedOperationException("Unsupported tree node: " + node.getClass().getName());
+        }
+        InternalNode in = (InternalNode) node;
+        left[id]  = append(in.trueChild());
+        right[id] = append(in.falseChild());
+        return id;
+    }
+}
@@ -0,0 +1,204 @@
+package com.ifood.mlplatform.model.forest;
+
+import com.ifood.mlplatform.exception.StorageException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@code model.forest}: a flat, little-endian, struct-of-arrays file that is
+ * scored in place once memory-mapped.
+ *
+ * <pre>
+ * int    magic ('MLFR'), version
+ * int    numTrees, numNodes, numFeatures, numClasses
+ * int    numLeaves                                     (version 2)
+ * int    labels[numClasses]
+ * int    roots[numTrees]
+ *        padding to 8 bytes
+ * double threshold[numNodes]
+ * int    feature[numNodes], left[numNodes], right[numNodes]
+ *        padding to 8 bytes                            (version 2)
+ * double posterior[numLeaves * numClasses]             (version 2)
+ * double weight[numTrees]                              (version 2)
+ * </pre>
+ * Node encoding is the one of {@link FlatForest}; {@code weight} is each
+ * tree's weight in the soft vote. Version 1 files carry neither leaf
+ * posteriors nor weights; they still load and report vote shares as
+ * probabilities.
+ */
+public final class ForestFormat {
+
+    public static final String ARTIFACT = "model.forest";
+
+    static final int MAGIC   = 0x4D4C4652; // "MLFR"
+    static final int VERSION = 2;
+    static final int HEADER_V1 = 6 * Integer.BYTES;
+    static final int HEADER_V2 = 7 * Integer.BYTES;
+
+    private ForestFormat() {
+    }
+
+    public static void write(FlatForest forest, OutputStream out) throws IOException {
+        int numLeaves = forest.posterior == null ? 0 : forest.posterior.length / forest.numClasses();
+        Layout l = new Layout(VERSION, forest.numTrees(), forest.numNodes(), forest.numClasses(), numLeaves);
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(l.size)).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION)
+           .putInt(forest.numTrees()).putInt(forest.numNodes())
+           .putInt(forest.numFeatures()).putInt(forest.numClasses())
+           .putInt(numLeaves);
+        for (int label : forest.labels) buf.putInt(label);
+        for (int root  : forest.roots)  buf.putInt(root);
+
+        buf.position((int) l.threshold);
+        for (double t : forest.threshold) buf.putDouble(t);
+        for (int f : forest.feature) buf.putInt(f);
+        for (int c : forest.left)    buf.putInt(c);
+        for (int c : forest.right)   buf.putInt(c);
+
+        if (numLeaves > 0) {
+            buf.position((int) l.posterior);
+            for (double p : forest.posterior) buf.putDouble(p);
+        }
+        buf.position((int) l.weight);
+        for (int t = 0; t < forest.numTrees(); t++) {
+            buf.putDouble(forest.weight == null ? 1 : forest.weight[t]);
+        }
+
+        out.write(buf.array());
+    }
+
+    /**
+     * Map a {@code model.forest} file read-only. The mapping outlives the
+     * channel (and the file itself, if it is deleted afterwards) and is
+     * shared through the page cache with any other process mapping it.
+     *
+     * Every count, index and offset is checked once here, so a truncated
+     * or corrupt file is rejected with a {@link StorageException} instead
+     * of failing (or looping) on the request path.
+     */
+    public static MappedForest map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = ch.size();
+            if (fileSize < HEADER_V1 || fileSize > Integer.MAX_VALUE) {
+                throw corrupt(file, "size " + fileSize);
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (buf.getInt(0) != MAGIC) {
+                throw corrupt(file, "bad magic");
+            }
+            int version = buf.getInt(4);
+            if (version != 1 && version != VERSION) {
+                throw new StorageException("Unsupported model.forest version " + version + ": " + file);
+            }
+            if (version >= 2 && fileSize < HEADER_V2) {
+                throw corrupt(file, "size " + fileSize);
+            }
+            int numTrees    = buf.getInt(8);
+            int numNodes    = buf.getInt(12);
+            int numFeatures = buf.getInt(16);
+            int numClasses  = buf.getInt(20);
+            int numLeaves   = version >= 2 ? buf.getInt(24) : 0;
+            if (numTrees < 1 || numNodes < 1 || numFeatures < 1 || numClasses < 1 || numLeaves < 0) {
+                throw corrupt(file, "counts trees=" + numTrees + " nodes=" + numNodes + " features="
+                                    + numFeatures + " classes=" + numClasses + " leaves=" + numLeaves);
+            }
+
+            Layout l = new Layout(version, numTrees, numNodes, numClasses, numLeaves);
+            if (fileSize < l.size) {
+                throw corrupt(file, "truncated, " + fileSize + " < " + l.size + " bytes");
+            }
+
+            int[] labels = new int[numClasses];
+            for (int i = 0; i < numClasses; i++) {
+                labels[i] = buf.getInt((int) l.labels + i * Integer.BYTES);
+            }
+            validate(file, buf, l, numTrees, numNodes, numFeatures, numClasses, numLeaves);
+            return new MappedForest(buf, numFeatures, labels, numTrees,
+                                    (int) l.roots, (int) l.threshold, (int) l.feature, (int) l.left, (int) l.right,
+                                    numLeaves > 0 ? (int) l.posterior : -1,
+                                    version >= 2 ? (int) l.weight : -1);
+        }
+    }
+
+    /**
+     * Roots and children must point inside the node arrays, and children
+     * after their parent (the flattener writes parents first), which also
+     * rules out cycles; splits must test a feature slot, leaves a class
+     * and, with posteriors, a leaf number in range. Tree weights must be
+     * finite and non-negative.
+     */
+    private static void validate(Path file, ByteBuffer buf, Layout l, int numTrees, int numNodes,
+                                 int numFeatures, int numClasses, int numLeaves) {
+        for (int t = 0; t < numTrees; t++) {
+            int root = buf.getInt((int) l.roots + t * Integer.BYTES);
+            if (root < 0 || root >= numNodes) {
+                throw corrupt(file, "tree " + t + " root " + root);
+            }
+            if (l.version >= 2) {
+                double w = buf.getDouble((int) l.weight + t * Double.BYTES);
+                if (!(w >= 0) || Double.isInfinite(w)) {
+                    throw corrupt(file, "tree " + t + " weight " + w);
+                }
+            }
+        }
+        for (int n = 0; n < numNodes; n++) {
+            int f     = buf.getInt((int) l.feature + n * Integer.BYTES);
+            int left  = buf.getInt((int) l.left    + n * Integer.BYTES);
+            int right = buf.getInt((int) l.right   + n * Integer.BYTES);
+            if (f == FlatForest.LEAF) {
+                if (left < 0 || left >= numClasses) {
+                    throw corrupt(file, "leaf " + n + " class " + left);
+                }
+                if (numLeaves > 0 && (right < 0 || right >= numLeaves)) {
+                    throw corrupt(file, "leaf " + n + " number " + right);
+                }
+                continue;
+            }
+            int slot = f & ~FlatForest.NOMINAL;
+            if (f < 0 || slot >= numFeatures) {
+                throw corrupt(file, "node " + n + " feature " + f);
+            }
+            if (left <= n || left >= numNodes || right <= n || right >= numNodes) {
+                throw corrupt(file, "node " + n + " children " + left + "/" + right);
+            }
+        }
+    }
+
+    private static StorageException corrupt(Path file, String detail) {
+        return new StorageException("Corrupt model.forest (" + detail + "): " + file);
+    }
+
+    /** Byte offsets of each section, in longs so that bogus counts cannot overflow. */
+    private static final class Layout {
+        final int  version;
+        final long labels, roots, threshold, feature, left, right, posterior, weight, size;
+
+        Layout(int version, int numTrees, int numNodes, int numClasses, int numLeaves) {
+            this.version = version;
+            labels    = version >= 2 ? HEADER_V2 : HEADER_V1;
+            roots     = labels + (long) numClasses * Integer.BYTES;
+            threshold = align8(roots + (long) numTrees * Integer.BYTES);
+            feature   = threshold + (long) numNodes * Double.BYTES;
+            left      = feature + (long) numNodes * Integer.BYTES;
+            right     = left + (long) numNodes * Integer.BYTES;
+            posterior = align8(right + (long) numNodes * Integer.BYTES);
+            weight    = posterior + (long) numLeaves * numClasses * Double.BYTES;
+            size      = version >= 2
+                      ? weight + (long) numTrees * Double.BYTES
+                      : right + (long) numNodes * Integer.BYTES;
+        }
+
+        private static long align8(long offset) {
+            return (offset + 7) & ~7L;
+        }
+    }
+}
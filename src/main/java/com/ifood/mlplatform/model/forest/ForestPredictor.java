@@ -0,0 +1,70 @@
+package com.ifood.mlplatform.model.forest;
+
+import com.ifood.mlplatform.model.ClassScore;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.Posteriors;
+import com.ifood.mlplatform.model.Predictable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link Predictable} over any {@link TreeEnsemble}; maps the voted label to
+ * the class name declared in the metadata. Class probabilities are written
+ * into the calling thread's {@link Posteriors} buffer.
+ */
+public class ForestPredictor implements Predictable {
+
+    private final TreeEnsemble forest;
+    private final FeaturePlan  plan;
+    private final String[]     classes;
+    private final Posteriors   posteriors;
+
+    public ForestPredictor(TreeEnsemble forest, FeaturePlan plan, String[] classes) {
+        if (forest.numFeatures() != plan.featureCount()) {
+            throw new IllegalArgumentException("Forest expects " + forest.numFeatures()
+                + " features but schema declares " + plan.featureCount());
+        }
+        this.forest  = forest;
+        this.plan    = plan;
+        this.classes = classes;
+        Object[] labels = new Object[forest.numClasses()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = toLabel(forest.label(i));
+        }
+        this.posteriors = new Posteriors(labels);
+    }
+
+    @Override
+    public FeaturePlan plan() {
+        return plan;
+    }
+
+    @Override
+    public Object predictRow(double[] row) {
+        return toLabel(forest.predict(row));
+    }
+
+    @Override
+    public List<ClassScore> predictScores(double[] row, int k) {
+        double[] p = posteriors.buffer();
+        forest.posteriors(row, p);
+        return posteriors.top(p, k);
+    }
+
+    @Override
+    public List<Object> predictRows(double[][] rows) {
+        int[] raw = forest.predict(rows);
+        List<Object> out = new ArrayList<>(raw.length);
+        for (int idx : raw) {
+            out.add(toLabel(idx));
+        }
+        return out;
+    }
+
+    protected Object toLabel(int idx) {
+        return (idx >= 0 && idx < classes.length)
+             ? classes[idx]
+             : idx;
+    }
+}
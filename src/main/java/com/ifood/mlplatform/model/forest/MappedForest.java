@@ -0,0 +1,99 @@
+package com.ifood.mlplatform.model.forest;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * {@link TreeEnsemble} evaluated directly on a memory-mapped
+ * {@code model.forest}: nothing but the class labels is copied onto the heap,
+ * so loading is a header check and several JVMs share the same pages.
+ * {@code posteriorOff} is -1 for files stored without leaf posteriors and
+ * {@code weightOff} -1 for files without tree weights (unit weights).
+ */
+public final class MappedForest implements TreeEnsemble {
+
+    private final ByteBuffer buf;
+    private final int        numFeatures;
+    private final int[]      labels;
+    private final int        numTrees;
+    private final int        rootsOff;
+    private final int        thresholdOff;
+    private final int        featureOff;
+    private final int        leftOff;
+    private final int        rightOff;
+    private final int        posteriorOff;
+    private final int        weightOff;
+
+    MappedForest(ByteBuffer buf, int numFeatures, int[] labels, int numTrees,
+                 int rootsOff, int thresholdOff, int featureOff, int leftOff, int rightOff,
+                 int posteriorOff, int weightOff) {
+        this.buf          = buf;
+        this.numFeatures  = numFeatures;
+        this.labels       = labels;
+        this.numTrees     = numTrees;
+        this.rootsOff     = rootsOff;
+        this.thresholdOff = thresholdOff;
+        this.featureOff   = featureOff;
+        this.leftOff      = leftOff;
+        this.rightOff     = rightOff;
+        this.posteriorOff = posteriorOff;
+        this.weightOff    = weightOff;
+    }
+
+    @Override
+    public int numFeatures() {
+        return numFeatures;
+    }
+
+    @Override
+    public int numClasses() {
+        return labels.length;
+    }
+
+    @Override
+    public int label(int index) {
+        return labels[index];
+    }
+
+    @Override
+    public int predict(double[] row) {
+        int[] votes = new int[labels.length];
+        for (int t = 0; t < numTrees; t++) {
+            votes[buf.getInt(leftOff + (leafNode(t, row) << 2))]++;
+        }
+        return labels[FlatForest.whichMax(votes, 0, votes.length)];
+    }
+
+    @Override
+    public void posteriors(double[] row, double[] out) {
+        int k = labels.length;
+        Arrays.fill(out, 0);
+        for (int t = 0; t < numTrees; t++) {
+            int    n = leafNode(t, row);
+            double w = weightOff < 0 ? 1 : buf.getDouble(weightOff + (t << 3));
+            if (posteriorOff < 0) {
+                out[buf.getInt(leftOff + (n << 2))] += w;
+            }
+            else {
+                int from = posteriorOff + ((buf.getInt(rightOff + (n << 2)) * k) << 3);
+                for (int c = 0; c < k; c++) {
+                    out[c] += w * buf.getDouble(from + (c << 3));
+                }
+            }
+        }
+        FlatForest.normalize(out);
+    }
+
+    private int leafNode(int tree, double[] row) {
+        int n = buf.getInt(rootsOff + (tree << 2));
+        int f;
+        while ((f = buf.getInt(featureOff + (n << 2))) != FlatForest.LEAF) {
+            double threshold = buf.getDouble(thresholdOff + (n << 3));
+            boolean goLeft = f < FlatForest.NOMINAL
+                           ? row[f] <= threshold
+                           : row[f & ~FlatForest.NOMINAL] == threshold;
+            n = buf.getInt((goLeft ? leftOff : rightOff) + (n << 2));
+        }
+        return n;
+    }
+}
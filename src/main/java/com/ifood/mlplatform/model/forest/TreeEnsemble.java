@@ -0,0 +1,41 @@
+package com.ifood.mlplatform.model.forest;
+
+/**
+ * A majority-vote tree ensemble scored over primitive rows laid out by a
+ * {@link com.ifood.mlplatform.model.FeaturePlan}.
+ */
+public interface TreeEnsemble {
+
+    int numFeatures();
+
+    int numClasses();
+
+    /** Model label of class index {@code index} (the order of posteriors). */
+    int label(int index);
+
+    /**
+     * Write the class probabilities of {@code row} into {@code out}
+     * ({@link #numClasses()} long, index order of {@link #label}): the leaf
+     * posteriors weighted by tree, as Smile's soft {@code RandomForest.predict},
+     * or the vote shares for forests stored without leaf posteriors.
+     */
+    void posteriors(double[] row, double[] out);
+
+    /**
+     * Model label voted for {@code row} (same value Smile's
+     * {@code RandomForest.predict} returns).
+     */
+    int predict(double[] row);
+
+    /**
+     * Labels voted for many rows at once, in input order.
+     * Implementations may reorder work (e.g. tree-major) for cache locality.
+     */
+    default int[] predict(double[][] rows) {
+        int[] out = new int[rows.length];
+        for (int r = 0; r < rows.length; r++) {
+            out[r] = predict(rows[r]);
+        }
+        return out;
+    }
+}
@@ -1,17 +1,26 @@
 package com.ifood.mlplatform.model.metadata;
 
 import java.util.List;
+import java.util.Map;
 
 public class ModelMetadata {
+    /** Artifact formats: Java-serialized model.bin (default) or flat model.forest. */
+    public static final String FORMAT_JAVA   = "java";
+    public static final String FORMAT_FOREST = "forest";
+
     public String model_type;
     public String framework;
+    public String format; // "java" (default) or "forest"
     public List<Feature> features;
     public Label label;
+    public Map<String, Object> training; // written by the trainer: searched hyperparameters, CV metrics
 
     public static class Feature {
         public String name;
         public String type; // "double", "categorical"
-        public List<String> categories; // only for categorical
+        public List<String> categories; // only for categorical; a value's code is its index
+        public String unknown; // categorical only: "error" (default) rejects unseen values, "other" maps them to a reserved code
+        public Double rounding; // optional result-cache quantization step, e.g. 0.01
     }
 
     public static class Label {
@@ -0,0 +1,95 @@
+package com.ifood.mlplatform.reactive;
+
+import com.ifood.mlplatform.config.ModelCacheProperties;
+import com.ifood.mlplatform.config.ReactiveProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelLoadTimeoutException;
+import com.ifood.mlplatform.service.ModelService;
+import com.ifood.mlplatform.service.RowScorer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking bridge from WebFlux to {@link ModelService}.
+ *
+ * A model is awaited as a {@link Mono} over the model cache's load future:
+ * concurrent requests for a cold model share the one load, and no thread is
+ * parked while MinIO is slow (the blocking download runs on the cache's
+ * loader pool). Decoding and scoring are CPU work and run on a fixed pool
+ * with a bounded queue; when it is full, the request fails right away with
+ * {@link InferenceOverloadedException} (503) instead of piling up.
+ *
+ * Scoring goes through the same {@link ModelService} path as MVC, which
+ * can block: waiting for a scoring slot, for a micro-batch to flush, or for
+ * a bulkhead thread. Those waits park a scoring-pool thread, never the
+ * event loop, so size {@code model.reactive.threads} for them when those
+ * features are on.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveInference {
+
+    private final RowScorer          scorer;
+    private final Duration           loadTimeout;
+    private final ThreadPoolExecutor pool;
+    private final Scheduler          scheduler;
+
+    public ReactiveInference(RowScorer scorer, ModelCacheProperties cacheProperties,
+                             ReactiveProperties properties) {
+        int threads = properties.getThreads() > 0
+                    ? properties.getThreads()
+                    : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.scorer       = scorer;
+        this.loadTimeout  = cacheProperties.getLoadTimeout();
+        this.pool         = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                                                   new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                                                   r -> {
+                                                       Thread t = new Thread(r, "reactive-predict-" + seq.incrementAndGet());
+                                                       t.setDaemon(true);
+                                                       return t;
+                                                   },
+                                                   new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler    = Schedulers.fromExecutorService(pool, "reactive-predict");
+        log.info("⚛️ Reactive scoring on {} threads, queue of {}", threads, properties.getQueueCapacity());
+    }
+
+    /**
+     * Completes once the model is loaded; errors like the blocking path
+     * (404 when missing, 503 after {@code model.cache.load-timeout}).
+     */
+    public Mono<Void> ready(String modelId) {
+        return Mono.fromFuture(() -> scorer.preload(modelId))
+                   .timeout(loadTimeout, Mono.error(() -> new ModelLoadTimeoutException(modelId, loadTimeout.toMillis())));
+    }
+
+    /**
+     * Run {@code work} on the scoring pool, or fail with 503 when its queue is full.
+     */
+    public <T> Mono<T> score(String modelId, Callable<T> work) {
+        return Mono.fromCallable(work)
+                   .subscribeOn(scheduler)
+                   .onErrorMap(RejectedExecutionException.class, e -> new InferenceOverloadedException(modelId, 0));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,96 @@
+package com.ifood.mlplatform.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.codec.FeatureRowsDecoder;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.dto.BatchPredictionResponse;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
+import com.ifood.mlplatform.model.dto.PredictionResponse;
+import com.ifood.mlplatform.service.RowScorer;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebFlux variant of the JSON {@code /predict} endpoints, active with
+ * {@code spring.main.web-application-type=reactive} (profile {@code reactive}).
+ *
+ * The event loop only collects the body and awaits the model; decoding
+ * and scoring go through {@link ReactiveInference}'s bounded pool. Same
+ * request/response bodies and error statuses as the MVC controller.
+ */
+@RestController
+@RequestMapping(path = "/predict",
+                consumes = MediaType.APPLICATION_JSON_VALUE,
+                produces = MediaType.APPLICATION_JSON_VALUE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Model Prediction API (reactive)", description = "Serve predictions for ML models")
+public class ReactivePredictionController {
+
+    private final RowScorer          scorer;
+    private final ReactiveInference  inference;
+    private final FeatureRowsDecoder decoder;
+
+    public ReactivePredictionController(RowScorer scorer, ReactiveInference inference,
+                                        ObjectMapper objectMapper) {
+        this.scorer       = scorer;
+        this.inference    = inference;
+        this.decoder      = new FeatureRowsDecoder(objectMapper.getFactory());
+    }
+
+    @PostMapping("/{modelId}")
+    public Mono<PredictionResponse> predict(@PathVariable String modelId,
+                                            @RequestBody Mono<DataBuffer> body) {
+        return inference.ready(modelId)
+            .then(body)
+            .flatMap(buffer -> inference.score(modelId, () -> {
+                BoundFeatures features = decode(modelId, buffer);
+                return new PredictionResponse(scorer.predictRow(modelId, features.plan(), features.single()));
+            }).doOnError(e -> DataBufferUtils.release(buffer)));
+    }
+
+    @PostMapping("/{modelId}/batch")
+    public Mono<BatchPredictionResponse> predictBatch(@PathVariable String modelId,
+                                                      @RequestBody Mono<DataBuffer> body) {
+        return inference.ready(modelId)
+            .then(body)
+            .flatMap(buffer -> inference.score(modelId, () -> {
+                BoundFeatures features = decode(modelId, buffer);
+                return new BatchPredictionResponse(scorer.predictRows(modelId, features.plan(), features.batch()));
+            }).doOnError(e -> DataBufferUtils.release(buffer)));
+    }
+
+    /**
+     * Decode (and release) the joined body, timed as the model's bind stage.
+     * A body left unread because scoring was shed is released by doOnError;
+     * releasing an already released buffer is a no-op.
+     */
+    private BoundFeatures decode(String modelId, DataBuffer buffer) {
+        FeaturePlan plan = scorer.plan(modelId);
+        long start = System.nanoTime();
+        try (InputStream in = buffer.asInputStream(true)) {
+            BoundFeatures features = decoder.decode(in, plan);
+            scorer.timers(modelId).bind().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return features;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON request: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -25,8 +25,15 @@ public class AdapterFactory {
         }
 
         String framework = metadata.framework.toUpperCase(Locale.ROOT);
+        String format    = metadata.format == null
+                         ? ModelMetadata.FORMAT_JAVA
+                         : metadata.format.toLowerCase(Locale.ROOT);
 
-        return cache.computeIfAbsent(framework, fw -> adapters.stream()
+        String modelType = metadata.model_type == null
+                         ? ""
+                         : metadata.model_type.toUpperCase(Locale.ROOT);
+
+        return cache.computeIfAbsent(framework + "/" + format + "/" + modelType, fw -> adapters.stream()
                     .filter(a -> a.supports(metadata))
                     .findFirst()
                     .orElseThrow(() -> 
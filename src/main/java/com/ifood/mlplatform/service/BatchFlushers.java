@@ -0,0 +1,121 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.BatchingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Threads shared by every model's {@link MicroBatcher}: one timer thread
+ * that fires each queue's {@code max-delay}, and a pool of
+ * {@code model.batching.flushers} threads that score the batches.
+ *
+ * A batcher owns no threads, so a thousand cached models cost nothing
+ * while idle, and the number of batches scoring at once is bounded for the
+ * whole process rather than per model. Nothing is created while batching
+ * is off.
+ */
+@Slf4j
+@Component
+public class BatchFlushers {
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 10;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService          pool;
+    private final Set<DueFlush>            pending = ConcurrentHashMap.newKeySet();
+
+    public BatchFlushers(BatchingProperties properties, ExecutorFactory executors) {
+        if (!properties.isEnabled()) {
+            this.timer = null;
+            this.pool  = null;
+            return;
+        }
+        int threads = properties.getFlushers() > 0
+                    ? properties.getFlushers()
+                    : Runtime.getRuntime().availableProcessors();
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "batch-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        this.pool  = executors.blocking("batch-flusher-", threads);
+        log.info("🧺 Micro-batches flushed by {}", executors.virtualThreads() ? "virtual threads" : threads + " shared threads");
+    }
+
+    /**
+     * Run {@code flush} on a flusher thread now; on the calling thread when
+     * the pool no longer takes work.
+     */
+    void flushNow(Runnable flush) {
+        try {
+            pool.execute(flush);
+        } catch (RejectedExecutionException e) {
+            flush.run();
+        }
+    }
+
+    /**
+     * Run {@code flush} on a flusher thread after {@code delayNanos}.
+     */
+    void flushAfter(long delayNanos, Runnable flush) {
+        DueFlush due = new DueFlush(flush);
+        pending.add(due);
+        try {
+            timer.schedule(due, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            due.run();
+        }
+    }
+
+    /**
+     * Fire the flushes still waiting for their delay now, then let the pool
+     * finish every batch it has: queued rows are scored, not failed.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (timer == null) {
+            return;
+        }
+        timer.shutdownNow();
+        pending.forEach(DueFlush::run);
+        try {
+            pool.shutdown();
+            if (!pool.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("🧺 Batch flushers still busy after {} s, interrupting", SHUTDOWN_GRACE_SECONDS);
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A delayed flush that runs once, from the timer or from shutdown,
+     * whichever comes first.
+     */
+    private final class DueFlush implements Runnable {
+
+        private final Runnable flush;
+
+        DueFlush(Runnable flush) {
+            this.flush = flush;
+        }
+
+        @Override
+        public void run() {
+            if (pending.remove(this)) {
+                flushNow(flush);
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.BulkheadProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelOverloadedException;
+import com.ifood.mlplatform.model.ModelKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-group scoring executors, so a model that is expensive to score can
+ * only ever occupy its own group's threads.
+ *
+ * Without bulkheads every model scores on the request thread, and the
+ * global limiter's slots go to whoever asks first: a burst on a 500-tree
+ * forest fills them and every small model queues behind it. A model
+ * listed in a {@code model.bulkhead.groups.*} group instead hands its
+ * scoring to that group's fixed pool and waits for the result; when the
+ * pool and its bounded queue are full, the call is shed with
+ * {@link ModelOverloadedException} (429) rather than growing the queue.
+ * Models in no group keep scoring on the caller's thread.
+ *
+ * A group's threads are its share of the CPU, so grouped calls take no
+ * global scoring slot: if they did, a busy group would hold the slots the
+ * other groups and the ungrouped models need. They still pass their
+ * model's limit and deadline check, on the caller's thread, before they
+ * are queued.
+ *
+ * Groups without fixed {@code threads} are resized every
+ * {@code resize-interval} from what their calls actually cost:
+ * {@code threads = ceil(target-rate * mean execution time / target-utilization)},
+ * between 1 and {@code max-threads} (by default half the global limit).
+ *
+ * A caller waits for its call at most until its {@link RequestDeadline},
+ * or {@code call-timeout} without one; then the call is cancelled (and
+ * interrupted if it already runs) and the caller gets a 503.
+ *
+ * The JVM cannot pin threads to cores, so a group bounds how many cores
+ * it can keep busy, not which ones; see the README for pinning at the
+ * container level.
+ */
+@Slf4j
+@Component
+public class Bulkheads {
+
+    private static final String METRIC = "model.bulkhead";
+
+    private final Map<String, Bulkhead>    byModel = new HashMap<>();
+    private final List<Bulkhead>           all     = new ArrayList<>();
+    private final InferenceLimiter         limiter;
+    private final ScheduledExecutorService sizer;
+
+    public Bulkheads(BulkheadProperties properties, InferenceLimiter limiter, MeterRegistry registry) {
+        this.limiter = limiter;
+        if (properties.isEnabled()) {
+            int defaultMax = Math.max(1, limiter.limit() / 2);
+            properties.getGroups().forEach((name, group) -> {
+                Bulkhead bulkhead = new Bulkhead(name, group, defaultMax, properties.getCallTimeout(), registry);
+                all.add(bulkhead);
+                for (String modelId : group.getModels()) {
+                    Bulkhead other = byModel.putIfAbsent(modelId, bulkhead);
+                    if (other != null) {
+                        throw new IllegalStateException(
+                            "Model `" + modelId + "` is in bulkheads `" + other.name + "` and `" + name + "`");
+                    }
+                }
+                log.info("🧱 Bulkhead `{}`: {} threads, queue of {}, models {}",
+                         name, bulkhead.pool.getCorePoolSize(), group.getQueueCapacity(), group.getModels());
+            });
+        }
+        boolean sized = all.stream().anyMatch(b -> b.fixed == 0);
+        this.sizer = sized ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bulkhead-sizer");
+            t.setDaemon(true);
+            return t;
+        }) : null;
+        if (sized) {
+            long every = properties.getResizeInterval().toMillis();
+            sizer.scheduleWithFixedDelay(this::resize, every, every, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Run {@code scoring} for {@code modelKey} (a model id, optionally
+     * {@code @version}) on its bulkhead and wait for it, or inline under a
+     * global scoring slot when the model is in no group. Calls whose rows
+     * were {@code admitted} already (micro-batches) skip the model's limit.
+     * The caller's {@link RequestDeadline} goes along.
+     *
+     * @throws ModelOverloadedException     the model is at its limit, or the
+     *                                      group's threads and queue are full (429)
+     * @throws InferenceOverloadedException no slot, or the call did not finish,
+     *                                      within the caller's budget (503)
+     */
+    public <T> T call(String modelKey, boolean admitted, Supplier<T> scoring) {
+        Bulkhead bulkhead = byModel.isEmpty() ? null : byModel.get(ModelKey.parse(modelKey).modelId());
+        if (bulkhead == null) {
+            try (InferenceLimiter.Permit permit = admitted ? limiter.acquireSlot(modelKey) : limiter.acquire(modelKey)) {
+                return scoring.get();
+            }
+        }
+        if (admitted) {
+            return bulkhead.call(modelKey, scoring);
+        }
+        try (InferenceLimiter.Permit permit = limiter.admit(modelKey)) {
+            return bulkhead.call(modelKey, scoring);
+        }
+    }
+
+    /**
+     * Current thread count of a group, or -1 for an unknown group.
+     */
+    int threads(String group) {
+        return all.stream()
+                  .filter(b -> b.name.equals(group))
+                  .mapToInt(b -> b.pool.getCorePoolSize())
+                  .findFirst()
+                  .orElse(-1);
+    }
+
+    void resize() {
+        for (Bulkhead bulkhead : all) {
+            if (bulkhead.fixed == 0) {
+                try {
+                    bulkhead.resize();
+                } catch (RuntimeException e) {
+                    log.warn("🧱 Could not resize bulkhead `{}`: {}", bulkhead.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (sizer != null) {
+            sizer.shutdownNow();
+        }
+        all.forEach(b -> b.pool.shutdownNow());
+    }
+
+    private static final class Bulkhead {
+
+        private final String             name;
+        private final int                fixed;
+        private final int                maxThreads;
+        private final double             targetRate;
+        private final double             targetUtilization;
+        private final int                queueCapacity;
+        private final long               callTimeoutNanos;
+        private final ThreadPoolExecutor pool;
+        private final Timer              queued;
+        private final Timer              execution;
+        private final Counter            rejected;
+        private final Counter            timedOut;
+
+        // execution totals at the last resize, to size from the latest interval only
+        private long   lastCount;
+        private double lastNanos;
+
+        Bulkhead(String name, BulkheadProperties.Group group, int defaultMax, Duration callTimeout,
+                 MeterRegistry registry) {
+            this.name              = name;
+            this.fixed             = group.getThreads();
+            this.maxThreads        = group.getMaxThreads() > 0 ? group.getMaxThreads() : defaultMax;
+            this.targetRate        = group.getTargetRate();
+            this.targetUtilization = group.getTargetUtilization();
+            this.queueCapacity     = group.getQueueCapacity();
+            this.callTimeoutNanos  = callTimeout.toNanos();
+            int threads = fixed > 0 ? fixed : Math.max(1, maxThreads / 2);
+
+            AtomicInteger seq = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                                               new ArrayBlockingQueue<>(queueCapacity),
+                                               r -> {
+                                                   Thread t = new Thread(r, "bulkhead-" + name + "-" + seq.incrementAndGet());
+                                                   t.setDaemon(true);
+                                                   return t;
+                                               },
+                                               new ThreadPoolExecutor.AbortPolicy());
+
+            Tags tags = Tags.of("bulkhead", name);
+            new ExecutorServiceMetrics(pool, "bulkhead-" + name, tags).bindTo(registry);
+            this.queued    = requestTimer(METRIC + ".queue", tags).description("Wait for a bulkhead thread")
+                                                                   .register(registry);
+            this.execution = requestTimer(METRIC + ".execution", tags).description("Scoring time on a bulkhead thread")
+                                                                       .register(registry);
+            this.rejected  = registry.counter(METRIC + ".rejected", tags);
+            this.timedOut  = registry.counter(METRIC + ".timeout", tags);
+        }
+
+        <T> T call(String modelKey, Supplier<T> scoring) {
+            Long deadline = RequestDeadline.current();
+            long submitted = System.nanoTime();
+            long budget = Math.min(callTimeoutNanos, RequestDeadline.remainingNanos(Long.MAX_VALUE));
+            Future<T> future;
+            try {
+                future = pool.submit(() -> {
+                    queued.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                    RequestDeadline.restore(deadline);
+                    long start = System.nanoTime();
+                    try {
+                        return scoring.get();
+                    } finally {
+                        execution.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        RequestDeadline.clear();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                throw new ModelOverloadedException(modelKey, pool.getMaximumPoolSize() + queueCapacity);
+            }
+            try {
+                return future.get(budget, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                abandon(future);
+                timedOut.increment();
+                throw deadline != null && RequestDeadline.remainingNanos(Long.MAX_VALUE) <= 0
+                    ? InferenceOverloadedException.deadlineExceeded(modelKey)
+                    : new InferenceOverloadedException(modelKey, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted));
+            } catch (InterruptedException e) {
+                abandon(future);
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted waiting for bulkhead `" + name + "`");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                if (cause instanceof Error err) {
+                    throw err;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        /**
+         * Cancel a call nobody waits for: interrupt it if it runs, and free
+         * its queue slot if it has not started.
+         */
+        private void abandon(Future<?> future) {
+            future.cancel(true);
+            if (future instanceof Runnable task) {
+                pool.remove(task);
+            }
+        }
+
+        /**
+         * Little's law over the calls since the last resize; keeps the
+         * current size when there were none.
+         */
+        void resize() {
+            long   count = execution.count();
+            double nanos = execution.totalTime(TimeUnit.NANOSECONDS);
+            long   calls = count - lastCount;
+            double spent = nanos - lastNanos;
+            lastCount = count;
+            lastNanos = nanos;
+            if (calls <= 0) {
+                return;
+            }
+            double meanSeconds = spent / calls / 1e9;
+            int threads = (int) Math.ceil(targetRate * meanSeconds / targetUtilization);
+            threads = Math.max(1, Math.min(maxThreads, threads));
+            int current = pool.getCorePoolSize();
+            if (threads == current) {
+                return;
+            }
+            // max >= core at every step
+            if (threads > current) {
+                pool.setMaximumPoolSize(threads);
+                pool.setCorePoolSize(threads);
+            }
+            else {
+                pool.setCorePoolSize(threads);
+                pool.setMaximumPoolSize(threads);
+            }
+            log.info("🧱 Bulkhead `{}` resized {} → {} threads (mean cost {} µs)",
+                     name, current, threads, Math.round(meanSeconds * 1e6));
+        }
+
+        private static Timer.Builder requestTimer(String metric, Tags tags) {
+            return Timer.builder(metric)
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(1_000))
+                        .maximumExpectedValue(Duration.ofSeconds(1));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ifood.mlplatform.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for blocking work (MinIO downloads, model loads), following
+ * the same {@code spring.threads.virtual.enabled} switch that moves Tomcat
+ * request handling onto virtual threads.
+ *
+ * Platform mode keeps the configured fixed pools; virtual mode starts one
+ * virtual thread per task, so a burst of cold loads parks cheaply on I/O
+ * instead of queueing behind a handful of pool threads.
+ */
+@Slf4j
+@Component
+public class ExecutorFactory {
+
+    private final boolean virtualThreads;
+
+    public ExecutorFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        log.info("🧵 Blocking work runs on {} threads", virtualThreads ? "virtual" : "platform");
+    }
+
+    /**
+     * @param prefix          thread name prefix
+     * @param platformThreads pool size in platform mode; ignored for virtual threads
+     */
+    public ExecutorService blocking(String prefix, int platformThreads) {
+        if (virtualThreads) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+        }
+        AtomicInteger seq = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, r -> {
+            Thread t = new Thread(r, prefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public boolean virtualThreads() {
+        return virtualThreads;
+    }
+}
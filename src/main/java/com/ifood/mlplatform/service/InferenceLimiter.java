@@ -0,0 +1,303 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.InferenceProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for scoring: caps how many predictions score at once,
+ * independent of how many request threads there are, and how many each
+ * model may have in flight.
+ *
+ * Request threads (virtual or not) are cheap to park while a model loads,
+ * but scoring is pure CPU: letting thousands of them into
+ * {@code predictRow} at once just time-slices the cores. Callers past the
+ * global limit queue on the semaphore and give up after
+ * {@code model.inference.acquire-timeout} or their {@link RequestDeadline},
+ * whichever comes first (503). A request whose deadline has already passed
+ * is rejected before it takes a slot, even a free one.
+ *
+ * In front of that, every model has an AIMD limit on its requests in
+ * flight (queued or scoring). A request over its model's limit is shed at
+ * once with 429. The limit shrinks by {@code backoff-ratio} when a request
+ * of the model waits longer than {@code queue-target} for a slot or times
+ * out, at most once per round trip: requests that were already queued
+ * when the limit last dropped saw the old limit and do not count again.
+ * It grows by about one per limit's worth of fast admissions while the
+ * model is using at least half of it. A hot model thus backs off to what
+ * the cores can absorb, and the others keep slots.
+ */
+@Slf4j
+@Component
+public class InferenceLimiter {
+
+    private final Semaphore permits;
+    private final int       limit;
+    private final long      acquireTimeoutNanos;
+
+    private final boolean   modelLimits;
+    private final int       modelMin;
+    private final int       modelMax;
+    private final long      queueTargetNanos;
+    private final double    backoffRatio;
+
+    private final MeterRegistry          registry;
+    private final Map<String, ModelLimit> models = new ConcurrentHashMap<>();
+
+    public InferenceLimiter(InferenceProperties properties, MeterRegistry registry) {
+        this.limit = properties.getMaxConcurrency() > 0
+                   ? properties.getMaxConcurrency()
+                   : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(limit);
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+
+        InferenceProperties.ModelLimit ml = properties.getModelLimit();
+        this.modelLimits      = ml.isEnabled();
+        this.modelMax         = ml.getMax() > 0 ? ml.getMax() : 2 * limit;
+        this.modelMin         = Math.max(1, Math.min(ml.getMin(), modelMax));
+        this.queueTargetNanos = ml.getQueueTarget().toNanos();
+        this.backoffRatio     = ml.getBackoffRatio();
+
+        this.registry = registry;
+        Gauge.builder("model.inference.inflight", this, InferenceLimiter::inFlight)
+             .description("Predictions currently holding a scoring slot")
+             .register(registry);
+        log.info("🚦 Inference limited to {} concurrent predictions{}", limit,
+                 modelLimits ? " (per model: adaptive " + modelMin + ".." + modelMax + ")" : "");
+    }
+
+    /**
+     * Admit one prediction of {@code modelId} and take a scoring slot; the
+     * returned permit must be closed (try-with-resources) when scoring ends.
+     *
+     * @throws ModelOverloadedException     the model is at its limit (429)
+     * @throws InferenceOverloadedException deadline already passed, or no
+     *                                      scoring slot within the wait budget (503)
+     */
+    public Permit acquire(String modelId) {
+        ModelLimit model = enter(modelId);
+        try {
+            takeSlot(modelId, model, waitBudget(modelId));
+        } catch (RuntimeException e) {
+            if (model != null) {
+                model.exit();
+            }
+            throw e;
+        }
+        return new Permit(model, true);
+    }
+
+    /**
+     * Admit one prediction of {@code modelId} without a scoring slot, for
+     * rows handed to the micro-batcher: the model's limit and the caller's
+     * deadline apply here, and the batch takes its slot with
+     * {@link #acquireSlot} when it flushes.
+     */
+    public Permit admit(String modelId) {
+        ModelLimit model = enter(modelId);
+        try {
+            waitBudget(modelId);
+        } catch (RuntimeException e) {
+            if (model != null) {
+                model.exit();
+            }
+            throw e;
+        }
+        return new Permit(model, false);
+    }
+
+    /**
+     * A scoring slot for work whose requests were already admitted with
+     * {@link #admit}; waits up to {@code acquire-timeout}, and its wait
+     * still feeds the model's limit.
+     */
+    public Permit acquireSlot(String modelId) {
+        takeSlot(modelId, modelLimits ? models.get(modelId) : null, acquireTimeoutNanos);
+        return new Permit(null, true);
+    }
+
+    /**
+     * Take a slot only if one is free right now, for work that should rather
+     * be skipped than queue behind requests (shadow scoring). Not counted
+     * against any model's limit; pair with {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return limit - permits.availablePermits();
+    }
+
+    /**
+     * Current adaptive limit of a model, or -1 when it has not been seen
+     * (or per-model limits are off).
+     */
+    public int limit(String modelId) {
+        ModelLimit model = models.get(modelId);
+        return model == null ? -1 : model.limit();
+    }
+
+    /**
+     * Count the request against its model's limit, or shed it.
+     */
+    private ModelLimit enter(String modelId) {
+        ModelLimit model = modelLimits ? model(modelId) : null;
+        if (model != null && !model.tryEnter()) {
+            model.shed.increment();
+            throw new ModelOverloadedException(modelId, model.limit());
+        }
+        return model;
+    }
+
+    /**
+     * How long this request may wait for a slot: {@code acquire-timeout},
+     * cut short by its deadline. A deadline that already passed rejects it.
+     */
+    private long waitBudget(String modelId) {
+        long remaining = RequestDeadline.remainingNanos(Long.MAX_VALUE);
+        if (remaining <= 0) {
+            registry.counter("model.inference.rejected", "model", modelId, "reason", "deadline").increment();
+            throw InferenceOverloadedException.deadlineExceeded(modelId);
+        }
+        return Math.min(acquireTimeoutNanos, remaining);
+    }
+
+    private void takeSlot(String modelId, ModelLimit model, long budget) {
+        long start = System.nanoTime();
+        boolean admitted = false;
+        try {
+            admitted = permits.tryAcquire() || permits.tryAcquire(budget, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long waited = System.nanoTime() - start;
+        if (!admitted) {
+            if (model != null) {
+                model.onSample(true, start);
+                model.timedOut.increment();
+            }
+            throw new InferenceOverloadedException(modelId, TimeUnit.NANOSECONDS.toMillis(waited));
+        }
+        if (model != null) {
+            model.onSample(waited > queueTargetNanos, start);
+        }
+    }
+
+    private ModelLimit model(String modelId) {
+        ModelLimit model = models.get(modelId);
+        return model != null ? model : models.computeIfAbsent(modelId, this::newModelLimit);
+    }
+
+    private ModelLimit newModelLimit(String modelId) {
+        ModelLimit model = new ModelLimit(
+            registry.counter("model.inference.rejected", "model", modelId, "reason", "model_limit"),
+            registry.counter("model.inference.rejected", "model", modelId, "reason", "timeout"));
+        Gauge.builder("model.inference.limit", model, ModelLimit::limit)
+             .description("Adaptive limit on a model's predictions in flight")
+             .tag("model", modelId)
+             .register(registry);
+        return model;
+    }
+
+    /**
+     * A granted admission: a scoring slot, its model's in-flight count, or both.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final ModelLimit model;
+        private final boolean    slot;
+        private boolean          closed;
+
+        private Permit(ModelLimit model, boolean slot) {
+            this.model = model;
+            this.slot  = slot;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (slot) {
+                permits.release();
+            }
+            if (model != null) {
+                model.exit();
+            }
+        }
+    }
+
+    /**
+     * AIMD state of one model. {@code limit} only changes under the lock;
+     * admission reads it racily, which at worst lets one request too many in.
+     */
+    private final class ModelLimit {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter       shed;
+        private final Counter       timedOut;
+        private volatile double     limit    = modelMax;
+        // nanoTime of the last decrease; only requests that started waiting after it may cause another
+        private long                lastDecrease = System.nanoTime();
+
+        ModelLimit(Counter shed, Counter timedOut) {
+            this.shed     = shed;
+            this.timedOut = timedOut;
+        }
+
+        int limit() {
+            return (int) limit;
+        }
+
+        boolean tryEnter() {
+            int n;
+            do {
+                n = inFlight.get();
+                if (n >= (int) limit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(n, n + 1));
+            return true;
+        }
+
+        void exit() {
+            inFlight.decrementAndGet();
+        }
+
+        /**
+         * @param startedAt when the sampled request started waiting for its slot
+         */
+        synchronized void onSample(boolean congested, long startedAt) {
+            if (congested) {
+                if (startedAt - lastDecrease > 0) {
+                    limit = Math.max(modelMin, limit * backoffRatio);
+                    lastDecrease = System.nanoTime();
+                }
+            }
+            else if (2 * inFlight.get() >= (int) limit) {
+                limit = Math.min(modelMax, limit + 1.0 / limit);
+            }
+        }
+    }
+}
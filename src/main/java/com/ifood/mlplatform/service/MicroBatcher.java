@@ -0,0 +1,163 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.BatchingProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent single-row predictions of one model into batches.
+ *
+ * Callers enqueue a copy of their row and wait on a future. The first row
+ * of an empty queue arms a {@code maxDelay} timer, and the row that fills
+ * a batch of {@code maxBatchSize} flushes at once; either way a shared
+ * {@link BatchFlushers} thread drains the queue, scores it in vectorized
+ * batches and completes every future in order. A full queue, or a batcher
+ * already closed because its model was replaced, degrades to scoring the
+ * row directly, so the client contract never changes.
+ *
+ * A caller waits at most until its {@link RequestDeadline}, or
+ * {@code wait-timeout} without one, and then gets the 503 of a request
+ * that found no scoring slot; a row nobody waits for any more is left out
+ * of its batch.
+ */
+@Slf4j
+final class MicroBatcher implements AutoCloseable {
+
+    private final String                             modelId;
+    private final Function<double[][], List<Object>> scorer;
+    private final int                                maxBatchSize;
+    private final long                               maxDelayNanos;
+    private final long                               waitTimeoutNanos;
+    private final BlockingQueue<Pending>             queue;
+    private final BatchFlushers                      flushers;
+    private final DistributionSummary                batchSizes;
+    private final AtomicBoolean                      armed = new AtomicBoolean();
+    private volatile boolean                         closed;
+
+    MicroBatcher(String modelId,
+                 Function<double[][], List<Object>> scorer,
+                 BatchingProperties properties,
+                 BatchFlushers flushers,
+                 DistributionSummary batchSizes) {
+        this.modelId          = modelId;
+        this.scorer           = scorer;
+        this.maxBatchSize     = properties.getMaxBatchSize();
+        this.maxDelayNanos    = properties.getMaxDelay().toNanos();
+        this.waitTimeoutNanos = properties.getWaitTimeout().toNanos();
+        this.queue            = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.flushers         = flushers;
+        this.batchSizes       = batchSizes;
+    }
+
+    /**
+     * Score one bound row as part of the next batch. {@code row} is copied,
+     * so callers may pass a reused buffer.
+     */
+    Object predict(double[] row) {
+        Pending pending = new Pending(row.clone());
+        if (closed || !queue.offer(pending)) {
+            return scorer.apply(new double[][] { pending.row }).get(0);
+        }
+        if (queue.size() == maxBatchSize) {
+            flushers.flushNow(this::flushDue);
+        }
+        else if (armed.compareAndSet(false, true)) {
+            flushers.flushAfter(maxDelayNanos, this::flushDue);
+        }
+        if (closed) {
+            // raced with close(): whoever drains the queue scores our row
+            drainAndFlush();
+        }
+        long start = System.nanoTime();
+        try {
+            return pending.result.get(RequestDeadline.remainingNanos(waitTimeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            pending.result.cancel(false);
+            throw RequestDeadline.current() != null && RequestDeadline.remainingNanos(Long.MAX_VALUE) <= 0
+                ? InferenceOverloadedException.deadlineExceeded(modelId)
+                : new InferenceOverloadedException(modelId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (InterruptedException e) {
+            pending.result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted waiting for a batch of `" + modelId + "`");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Disarm first, then drain: a row queued after the drain started finds
+     * the timer disarmed and arms the next one, so no row is left behind.
+     */
+    private void flushDue() {
+        armed.set(false);
+        drainAndFlush();
+    }
+
+    private void drainAndFlush() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            // callers that gave up cancelled their row
+            batch.removeIf(p -> p.result.isDone());
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        int n = batch.size();
+        double[][] rows = new double[n][];
+        for (int i = 0; i < n; i++) {
+            rows[i] = batch.get(i).row;
+        }
+        batchSizes.record(n);
+        try {
+            List<Object> predictions = scorer.apply(rows);
+            for (int i = 0; i < n; i++) {
+                batch.get(i).result.complete(predictions.get(i));
+            }
+        } catch (RuntimeException e) {
+            for (Pending p : batch) {
+                p.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Stop taking rows and score whatever is still queued, on this thread;
+     * batches already handed to a flusher finish there undisturbed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        drainAndFlush();
+        log.info("🧺 Micro-batcher for `{}` closed", modelId);
+    }
+
+    private static final class Pending {
+        final double[]                  row;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Pending(double[] row) {
+            this.row = row;
+        }
+    }
+}
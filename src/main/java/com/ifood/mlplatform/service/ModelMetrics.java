@@ -0,0 +1,136 @@
+package com.ifood.mlplatform.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Micrometer timers for the model lifecycle, tagged by model id.
+ *
+ * Load stages are rare and looked up in the registry on each record.
+ * Request-path timers are resolved once per loaded model into
+ * {@link ModelTimers} and kept next to the predictor, so the hot path
+ * only pays two {@code nanoTime()} reads and a histogram increment.
+ *
+ * All timers publish percentile histograms; Prometheus computes the
+ * quantiles server-side ({@code histogram_quantile}).
+ */
+@Component
+@RequiredArgsConstructor
+public class ModelMetrics {
+
+    public static final String LOAD    = "model.load";
+    public static final String BIND    = "model.bind";
+    public static final String PREDICT = "model.predict";
+    public static final String BATCH   = "model.batch.size";
+    public static final String RESULTS = "model.result.cache";
+
+    public static final String STAGE_DOWNLOAD    = "download";
+    public static final String STAGE_DESERIALIZE = "deserialize";
+    public static final String STAGE_MAP         = "map";
+    public static final String STAGE_ADAPTER     = "adapter";
+
+    private final MeterRegistry registry;
+
+    /** Result cache currently serving each model, read by its size gauge. */
+    private final Map<String, AtomicReference<Cache<?, ?>>> resultCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Request-path timers of one model.
+     */
+    public record ModelTimers(Timer bind, Timer predict, Timer predictBatch) {
+    }
+
+    public ModelTimers timers(String modelId) {
+        return new ModelTimers(
+            requestTimer(BIND, modelId).register(registry),
+            requestTimer(PREDICT, modelId).tag("mode", "single").register(registry),
+            requestTimer(PREDICT, modelId).tag("mode", "batch").register(registry));
+    }
+
+    /**
+     * Hit/miss/eviction counters of one model's result cache.
+     * Counters outlive model versions; {@link #bind} points the size gauge
+     * at whichever cache currently serves the model.
+     */
+    public record CacheMeters(Counter hits, Counter misses, Counter evictions,
+                              AtomicReference<Cache<?, ?>> current) {
+
+        public void bind(Cache<?, ?> cache) {
+            current.set(cache);
+        }
+    }
+
+    public CacheMeters resultCacheMeters(String modelId) {
+        AtomicReference<Cache<?, ?>> current = resultCaches.computeIfAbsent(modelId, id -> {
+            AtomicReference<Cache<?, ?>> ref = new AtomicReference<>();
+            Gauge.builder(RESULTS + ".size", ref, r -> r.get() == null ? 0 : r.get().estimatedSize())
+                 .description("Predictions held in the result cache")
+                 .tag("model", id)
+                 .register(registry);
+            return ref;
+        });
+        return new CacheMeters(
+            registry.counter(RESULTS, "model", modelId, "result", "hit"),
+            registry.counter(RESULTS, "model", modelId, "result", "miss"),
+            registry.counter(RESULTS + ".evictions", "model", modelId),
+            current);
+    }
+
+    /**
+     * Rows per micro-batch flushed for one model.
+     */
+    public DistributionSummary batchSizes(String modelId) {
+        return DistributionSummary.builder(BATCH)
+            .description("Rows coalesced per micro-batch")
+            .tag("model", modelId)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(1.0)
+            .maximumExpectedValue(1024.0)
+            .register(registry);
+    }
+
+    /**
+     * Record one load stage that started at {@code startNanos}.
+     */
+    public void recordLoad(String modelId, String stage, long startNanos) {
+        Timer.builder(LOAD)
+            .description("Model load time by stage")
+            .tag("model", modelId)
+            .tag("stage", stage)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofMinutes(2))
+            .register(registry)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Size, hit/miss, load and eviction gauges for the model cache,
+     * exported as {@code cache_*{cache="models"}}.
+     */
+    public void monitorCache(AsyncCache<String, ?> cache) {
+        CaffeineCacheMetrics.monitor(registry, cache, "models");
+    }
+
+    private static Timer.Builder requestTimer(String name, String modelId) {
+        return Timer.builder(name)
+            .tag("model", modelId)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofNanos(1_000))
+            .maximumExpectedValue(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,129 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.PrewarmProperties;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the configured models in parallel and runs synthetic predictions
+ * through them before the app reports ready.
+ *
+ * Spring Boot only flips readiness to ACCEPTING_TRAFFIC after all
+ * ApplicationRunners return, so blocking here keeps the readiness probe
+ * DOWN until every listed model is loaded and its scoring path is hot.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ModelPrewarmer implements ApplicationRunner {
+
+    private final ModelService modelService;
+    private final StorageService storage;
+    private final PrewarmProperties props;
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<String> modelIds = modelIds();
+        if (modelIds.isEmpty()) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.info("🔥 Prewarming {} model(s): {}", modelIds.size(), modelIds);
+
+        long start    = System.nanoTime();
+        long deadline = start + props.getTimeout().toNanos();
+
+        Map<String, CompletableFuture<Void>> loads = new LinkedHashMap<>();
+        for (String modelId : modelIds) {
+            loads.put(modelId, modelService.preload(modelId));
+        }
+
+        int warmed = 0;
+        for (Map.Entry<String, CompletableFuture<Void>> e : loads.entrySet()) {
+            String modelId = e.getKey();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                e.getValue().get(remaining, TimeUnit.NANOSECONDS);
+                warmUp(modelId);
+                warmed++;
+            } catch (Exception ex) {
+                log.warn("⚠️ Prewarm of `{}` skipped: {}", modelId, ex.toString());
+            }
+        }
+
+        log.info("🔥 Prewarm done: {}/{} model(s) in {} ms",
+                 warmed, modelIds.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Set<String> modelIds() {
+        Set<String> ids = new LinkedHashSet<>(props.getModelIds());
+        if (props.isDiscover()) {
+            try {
+                ids.addAll(storage.listModelIds());
+            } catch (Exception e) {
+                log.warn("⚠️ Could not list models for prewarm: {}", e.getMessage());
+            }
+        }
+        ids.removeIf(String::isBlank);
+        return ids;
+    }
+
+    /**
+     * Exercise the single-row and batch scoring paths of this exact version
+     * with rows synthesized from the model's declared features.
+     */
+    private void warmUp(String modelId) {
+        ModelMetadata md   = modelService.metadata(modelId);
+        FeaturePlan   plan = modelService.plan(modelId);
+        Random        rnd  = new Random(42);
+
+        double[][] rows = new double[props.getWarmupIterations()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = syntheticRow(md, plan, rnd);
+        }
+        modelService.warm(modelId, rows, false);
+
+        int batches = props.getWarmupIterations() / 10;
+        for (int b = 0; b < batches; b++) {
+            double[][] batch = new double[props.getWarmupBatchSize()][];
+            for (int r = 0; r < batch.length; r++) {
+                batch[r] = syntheticRow(md, plan, rnd);
+            }
+            modelService.warm(modelId, batch, true);
+        }
+    }
+
+    private static double[] syntheticRow(ModelMetadata md, FeaturePlan plan, Random rnd) {
+        double[] row = plan.newRow();
+        for (int i = 0; i < plan.featureCount(); i++) {
+            ModelMetadata.Feature f = md.features.get(i);
+            String type = f.type == null ? "double" : f.type.toLowerCase(Locale.ROOT);
+            row[i] = switch (type) {
+                case "boolean"     -> rnd.nextBoolean() ? 1 : 0;
+                case "integer"     -> rnd.nextInt(10);
+                // a code the model knows, so warmup takes the same splits as real traffic
+                case "categorical" -> rnd.nextInt(f.categories.size());
+                default            -> rnd.nextDouble() * 10;
+            };
+        }
+        return row;
+    }
+}
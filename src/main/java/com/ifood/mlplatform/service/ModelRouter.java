@@ -0,0 +1,101 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.RoutingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-request choice of which version of a model answers, and which one,
+ * if any, is scored in shadow.
+ *
+ * Rules are compiled at startup into fixed {@link Decision}s, so routing a
+ * request is one map lookup and a random draw; models without a rule (and
+ * pinned {@code modelId@vN} keys) return null and skip routing entirely.
+ *
+ * A decision is only a wish: the canary may still be loading or unusable,
+ * in which case the primary answers. {@code model.routed{target}} is
+ * therefore counted through {@link #answered} once the caller knows which
+ * version actually answered.
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    /**
+     * Cache key answering the request, and the cache key to shadow (or null).
+     */
+    public record Decision(String target, String shadow) {
+    }
+
+    private final Map<String, CompiledRule> rules = new HashMap<>();
+
+    public ModelRouter(RoutingProperties properties, MeterRegistry registry) {
+        properties.getModels().forEach((modelId, rule) -> {
+            rules.put(modelId, new CompiledRule(modelId, rule, registry));
+            log.info("🔀 Routing `{}`: canary={} ({}%), shadow={} ({}%)", modelId,
+                     rule.getCanary(), rule.getCanaryPercent(), rule.getShadow(), rule.getShadowPercent());
+        });
+    }
+
+    public Decision route(String modelId) {
+        CompiledRule rule = rules.get(modelId);
+        return rule == null ? null : rule.next();
+    }
+
+    /**
+     * Count a routed request by the version that answered it.
+     */
+    public void answered(String modelId, boolean canary) {
+        CompiledRule rule = rules.get(modelId);
+        if (rule != null) {
+            (canary ? rule.toCanary : rule.toPrimary).increment();
+        }
+    }
+
+    private static final class CompiledRule {
+        private final int      canaryPercent;
+        private final int      shadowPercent;
+        private final Decision primary;
+        private final Decision primaryShadowed;
+        private final Decision canary;
+        private final Decision canaryShadowed;
+        private final Counter  toPrimary;
+        private final Counter  toCanary;
+
+        CompiledRule(String modelId, RoutingProperties.Rule rule, MeterRegistry registry) {
+            String canaryKey = rule.getCanary() == null ? null : modelId + "@" + rule.getCanary();
+            String shadowKey = rule.getShadow() == null ? null : modelId + "@" + rule.getShadow();
+            this.canaryPercent   = canaryKey == null ? 0 : percent(modelId, "canary-percent", rule.getCanaryPercent());
+            this.shadowPercent   = shadowKey == null ? 0 : percent(modelId, "shadow-percent", rule.getShadowPercent());
+            this.primary         = new Decision(modelId, null);
+            this.primaryShadowed = new Decision(modelId, shadowKey);
+            this.canary          = new Decision(canaryKey, null);
+            this.canaryShadowed  = new Decision(canaryKey, shadowKey);
+            this.toPrimary       = registry.counter("model.routed", "model", modelId, "target", "primary");
+            this.toCanary        = registry.counter("model.routed", "model", modelId, "target", "canary");
+        }
+
+        Decision next() {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            boolean shadowed = shadowPercent > 0 && rnd.nextInt(100) < shadowPercent;
+            if (canaryPercent > 0 && rnd.nextInt(100) < canaryPercent) {
+                return shadowed ? canaryShadowed : canary;
+            }
+            return shadowed ? primaryShadowed : primary;
+        }
+
+        private static int percent(String modelId, String name, int value) {
+            if (value < 0 || value > 100) {
+                throw new IllegalStateException(
+                    "model.routing.models." + modelId + "." + name + " must be between 0 and 100, got " + value);
+            }
+            return value;
+        }
+    }
+}
@@ -1,75 +1,805 @@
 package com.ifood.mlplatform.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ifood.mlplatform.config.BatchingProperties;
+import com.ifood.mlplatform.config.ModelCacheProperties;
+import com.ifood.mlplatform.config.ResultCacheProperties;
+import com.ifood.mlplatform.config.StorageProperties;
+import com.ifood.mlplatform.exception.ModelChangedException;
+import com.ifood.mlplatform.exception.ModelLoadTimeoutException;
 import com.ifood.mlplatform.exception.ModelNotFoundException;
+import com.ifood.mlplatform.exception.StorageException;
+import com.ifood.mlplatform.model.ClassScore;
+import com.ifood.mlplatform.model.FeaturePlan;
 import com.ifood.mlplatform.model.ModelAdapter;
+import com.ifood.mlplatform.model.ModelKey;
 import com.ifood.mlplatform.model.Predictable;
+import com.ifood.mlplatform.model.forest.ForestFormat;
 import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class ModelService {
+public class ModelService implements RowScorer {
+
+    private static final ObjectReader METADATA_READER = new ObjectMapper().readerFor(ModelMetadata.class);
 
     private final StorageService storage;
     private final AdapterFactory adapterFactory;
+    private final ModelCacheProperties cacheProperties;
+    private final StorageProperties storageProperties;
+    private final ModelMetrics metrics;
+    private final ExecutorFactory executors;
+    private final InferenceLimiter limiter;
+    private final BatchingProperties batchingProperties;
+    private final BatchFlushers batchFlushers;
+    private final ResultCacheProperties resultCacheProperties;
+    private final ModelRouter router;
+    private final ShadowScorer shadows;
+    private final Bulkheads bulkheads;
+
+    /** Load state of canary and shadow versions, see {@link RouteTarget}. */
+    private final Map<String, RouteTarget> routeTargets = new ConcurrentHashMap<>();
+
+    private AsyncLoadingCache<String, LoadedModel> modelCache;
+    private ExecutorService loaderExecutor;
+
+    /**
+     * Build the bounded model cache from {@code model.cache.*}.
+     * Either an entry count or a byte budget (weighed by artifact size) caps it;
+     * with refresh enabled, stale entries are re-checked against storage ETags
+     * in the background while the old model keeps serving.
+     *
+     * Loads are single-flight per modelId and run on a dedicated pool, outside
+     * any map lock: concurrent callers for the same model share one future,
+     * and a slow download never blocks requests for other models.
+     */
+    @PostConstruct
+    void initCache() {
+        loaderExecutor = executors.blocking("model-loader-", cacheProperties.getLoaderThreads());
+
+        boolean byBytes = cacheProperties.getMaximumWeightBytes() > 0;
+        Weigher<String, LoadedModel> weigher = byBytes
+            ? (id, lm) -> (int) Math.min(Integer.MAX_VALUE, Math.max(0, lm.sizeBytes()))
+            : (id, lm) -> 1;
+
+        Caffeine<String, LoadedModel> builder = Caffeine.newBuilder()
+            .recordStats()
+            .maximumWeight(byBytes ? cacheProperties.getMaximumWeightBytes()
+                                   : cacheProperties.getMaximumSize())
+            .weigher(weigher)
+            .executor(loaderExecutor)
+            .removalListener((String id, LoadedModel lm, RemovalCause cause) -> {
+                if (lm == null || lm == currentModel(id)) {
+                    // refresh kept the same instance; nothing to retire
+                    return;
+                }
+                log.info("🗑️ Model `{}` left the cache ({})", id, cause);
+                lm.close();
+            });
 
-    private final ConcurrentHashMap<String, LoadedModel> modelCache = new ConcurrentHashMap<>();
+        if (cacheProperties.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(cacheProperties.getExpireAfterAccess());
+        }
+        if (cacheProperties.getRefreshAfterWrite() != null) {
+            builder.refreshAfterWrite(cacheProperties.getRefreshAfterWrite());
+        }
+
+        modelCache = builder.buildAsync(new CacheLoader<String, LoadedModel>() {
+            @Override
+            public LoadedModel load(String modelId) {
+                return loadModel(modelId);
+            }
+
+            @Override
+            public LoadedModel reload(String modelId, LoadedModel old) {
+                return reloadIfChanged(modelId, old);
+            }
+        });
+        metrics.monitorCache(modelCache);
+    }
 
     /**
-     * Load, cache and return a Predictable adapter for this modelId.
+     * Load, cache and return a Predictable adapter for this modelId
+     * ({@code modelId} or {@code modelId@vN}, see {@link ModelKey}).
      * Wrap any failure (I/O / JSON / adapter‐lookup) as a ModelNotFoundException.
      */
     private LoadedModel loadModel(String modelId) {
-        log.info("📦 Loading model `{}`", modelId);
+        ModelKey key = ModelKey.parse(modelId);
+        return loadVersion(modelId, key, key.pinned() ? key.version() : currentVersion(key));
+    }
 
-        try (
-            InputStream modelStream    = storage.download(modelId + "/model.bin");
-            InputStream metadataStream = storage.download(modelId + "/schema.json")
-        ) {
-            Serializable rawModel = deserializeModel(modelStream);
+    private LoadedModel loadVersion(String modelId, ModelKey key, String version) {
+        log.info("📦 Loading model `{}` ({})", modelId, version == null ? "unversioned" : version);
 
-            // readValue will close metadataStream when done
-            ModelMetadata metadata = new ObjectMapper()
-                .readValue(metadataStream, ModelMetadata.class);
+        CompletableFuture<Optional<Artifact>> speculative = null;
+        try {
+            // schema.json and the artifact of the preferred format transfer
+            // concurrently; a model stored in the other format simply misses
+            // (quietly) and its declared artifact follows once the schema is in
+            String prefix = key.prefix(version);
+            CompletableFuture<ModelMetadata> metadataFuture = storage
+                .fetchAsync(prefix + "schema.json")
+                .thenApply(ModelService::readMetadata);
+            String preferred = storageProperties.getPreferredFormat().toLowerCase(Locale.ROOT);
+            speculative = fetchArtifactAsync(modelId, prefix, preferred, true);
 
+            ModelMetadata metadata = metadataFuture.join();
+            String format = formatOf(metadata);
+            Artifact artifact;
+            if (format.equals(preferred)) {
+                artifact = speculative.join().orElseThrow(
+                    () -> new StorageException("Missing artifact: " + artifactObject(prefix, format)));
+            }
+            else {
+                discard(modelId, speculative);
+                artifact = fetchArtifactAsync(modelId, prefix, format, false).join().orElseThrow();
+            }
+
+            long adapterStart = System.nanoTime();
             ModelAdapter adapter = adapterFactory.getAdapter(metadata);
-            Predictable predictor = adapter.load(rawModel, metadata);
+            Predictable predictor = adapter.load(artifact.raw(), metadata);
+            metrics.recordLoad(modelId, ModelMetrics.STAGE_ADAPTER, adapterStart);
 
-            log.info("✅ Loaded `{}` (framework={}, {} features)",
-                     modelId, metadata.framework, metadata.features.size());
+            log.info("✅ Loaded `{}` (framework={}, format={}, {} features, {} bytes)",
+                     modelId, metadata.framework, format, metadata.features.size(), artifact.size());
 
-            return new LoadedModel(predictor, metadata);
+            LoadedModel lm = new LoadedModel(predictor, metadata, version, artifact.etag(), artifact.size(),
+                                             metrics.timers(modelId), null, newResultCache(key, metadata));
+            return batchingProperties.isEnabled() ? lm.withBatcher(newBatcher(modelId, lm)) : lm;
 
         } catch (Exception e) {
-            log.error("❌ Error loading model `{}`: {}", modelId, e.getMessage());
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            log.error("❌ Error loading model `{}`: {}", modelId, cause.getMessage());
             throw new ModelNotFoundException(modelId);
+        } finally {
+            if (speculative != null && !speculative.isDone()) {
+                discard(modelId, speculative);
+            }
         }
     }
 
+    /**
+     * Let a speculative fetch that is no longer needed finish on its own,
+     * observed. It is not cancelled: a cancelled future would skip
+     * {@link #mapForest}, which is what deletes the downloaded temp file.
+     * An artifact it still produces holds nothing but garbage-collected memory.
+     */
+    private static void discard(String modelId, CompletableFuture<Optional<Artifact>> speculative) {
+        speculative.whenComplete((artifact, e) -> {
+            if (e != null) {
+                log.debug("Unused speculative artifact fetch for `{}` failed: {}", modelId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Per-model micro-batcher scoring through the same limiter and timers
+     * as direct batch calls.
+     */
+    private MicroBatcher newBatcher(String modelId, LoadedModel lm) {
+        return new MicroBatcher(modelId,
+                                rows -> scoreBatched(modelId, lm, rows),
+                                batchingProperties,
+                                batchFlushers,
+                                metrics.batchSizes(modelId));
+    }
+
+    private ResultCache newResultCache(ModelKey key, ModelMetadata metadata) {
+        if (!resultCacheProperties.isEnabled()
+            || !(resultCacheProperties.getModelIds().isEmpty()
+                 || resultCacheProperties.getModelIds().contains(key.modelId()))) {
+            return null;
+        }
+        return new ResultCache(metadata, resultCacheProperties, metrics.resultCacheMeters(key.modelId()));
+    }
+
+    /**
+     * Version named by the model's {@code current} pointer, or null for
+     * a model stored in the unversioned layout.
+     */
+    private String currentVersion(ModelKey key) {
+        return storage.readText(key.pointerObject()).orElse(null);
+    }
+
+    /**
+     * The cached model if it is already loaded, without triggering a load.
+     */
+    private LoadedModel currentModel(String modelId) {
+        CompletableFuture<LoadedModel> future = modelCache.getIfPresent(modelId);
+        return future != null && future.isDone() && !future.isCompletedExceptionally()
+             ? future.join()
+             : null;
+    }
+
+    private static String formatOf(ModelMetadata metadata) {
+        return metadata.format == null
+             ? ModelMetadata.FORMAT_JAVA
+             : metadata.format.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Download and open the model artifact of the given format on the
+     * storage pool: memory-map model.forest, or deserialize model.bin.
+     * Without a disk cache model.bin is deserialized straight off the
+     * response stream, so its "download" stage only covers time to first byte.
+     * With {@code missingOk} an absent artifact completes empty instead of
+     * failing, for speculative fetches.
+     */
+    private CompletableFuture<Optional<Artifact>> fetchArtifactAsync(String modelId, String prefix, String format,
+                                                                     boolean missingOk) {
+        long start = System.nanoTime();
+        String object = artifactObject(prefix, format);
+        if (ModelMetadata.FORMAT_FOREST.equals(format)) {
+            CompletableFuture<Optional<StoredFile>> file = missingOk
+                ? storage.fetchFileIfExistsAsync(object)
+                : storage.fetchFileAsync(object).thenApply(Optional::of);
+            return file.thenApply(found -> found.map(f -> {
+                metrics.recordLoad(modelId, ModelMetrics.STAGE_DOWNLOAD, start);
+                long mapStart = System.nanoTime();
+                Artifact artifact = mapForest(f);
+                metrics.recordLoad(modelId, ModelMetrics.STAGE_MAP, mapStart);
+                return artifact;
+            }));
+        }
+        CompletableFuture<Optional<StoredObject>> bin = missingOk
+            ? storage.fetchIfExistsAsync(object)
+            : storage.fetchAsync(object).thenApply(Optional::of);
+        return bin.thenApply(found -> found.map(b -> {
+            metrics.recordLoad(modelId, ModelMetrics.STAGE_DOWNLOAD, start);
+            long deserializeStart = System.nanoTime();
+            Artifact artifact = deserializeArtifact(b);
+            metrics.recordLoad(modelId, ModelMetrics.STAGE_DESERIALIZE, deserializeStart);
+            return artifact;
+        }));
+    }
+
+    private static String artifactObject(String prefix, String format) {
+        return ModelMetadata.FORMAT_FOREST.equals(format)
+             ? prefix + ForestFormat.ARTIFACT
+             : prefix + "model.bin";
+    }
+
+    private static Artifact mapForest(StoredFile file) {
+        try {
+            return new Artifact(ForestFormat.map(file.path()), file.etag(), file.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (file.temporary()) {
+                // the mapping stays valid after the file is unlinked
+                file.path().toFile().delete();
+            }
+        }
+    }
+
+    private static Artifact deserializeArtifact(StoredObject bin) {
+        try (bin) {
+            return new Artifact(deserializeModel(bin.stream()), bin.etag(), bin.size());
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static ModelMetadata readMetadata(StoredObject schema) {
+        try (schema) {
+            return METADATA_READER.readValue(schema.stream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Background refresh: load the new version if the {@code current}
+     * pointer moved, reload if the artifact's ETag changed, otherwise keep
+     * the cached model.
+     *
+     * Runs on the loader pool while the old model keeps serving; Caffeine
+     * then swaps the map entry atomically, so requests never wait on a
+     * rollout. Requests already holding the old model finish on it, and the
+     * removal listener retires it. A failed load keeps the old model.
+     */
+    private LoadedModel reloadIfChanged(String modelId, LoadedModel old) {
+        ModelKey key = ModelKey.parse(modelId);
+        if (!key.pinned()) {
+            String current = currentVersion(key);
+            if (!Objects.equals(current, old.version())) {
+                log.info("🚀 Model `{}` rolling out {} → {}", modelId, old.version(), current);
+                return loadVersion(modelId, key, current);
+            }
+        }
+        String etag = storage.stat(artifactObject(key.prefix(old.version()), formatOf(old.metadata()))).etag();
+        if (etag.equals(old.etag())) {
+            return old;
+        }
+        log.info("🔄 Model `{}` changed in storage (etag {} → {}), reloading", modelId, old.etag(), etag);
+        return loadVersion(modelId, key, old.version());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
+    /**
+     * Resolve a loaded model, waiting at most {@code model.cache.load-timeout}
+     * for a cold one. A timed-out caller gets 503 while the load carries on
+     * and lands in the cache for the next request.
+     */
+    private LoadedModel model(String modelId) {
+        CompletableFuture<LoadedModel> future = modelCache.get(modelId);
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            return future.join();
+        }
+        long timeoutMs = cacheProperties.getLoadTimeout().toMillis();
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("⏳ Model `{}` still loading after {} ms", modelId, timeoutMs);
+            throw new ModelLoadTimeoutException(modelId, timeoutMs);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new ModelNotFoundException(modelId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelLoadTimeoutException(modelId, timeoutMs);
+        }
+    }
+
+    /**
+     * Start (or join) loading the named model without waiting for it.
+     */
+    @Override
+    public CompletableFuture<Void> preload(String modelId) {
+        return modelCache.get(modelId).thenApply(lm -> null);
+    }
+
+    /**
+     * Declared schema of the named model, loading it if needed.
+     */
+    public ModelMetadata metadata(String modelId) {
+        return model(modelId).metadata();
+    }
+
     /**
      * Public entrypoint: score a feature‐map against the named model.
      * Any missing‐feature or parse errors bubble as IllegalArgumentException (→ 400),
      * ModelNotFoundException bubbles as 404.
      */
     public Object predict(String modelId, Map<String, Object> features) {
-        LoadedModel lm = modelCache.computeIfAbsent(modelId, this::loadModel);
-        return lm.predict(features);
+        LoadedModel lm = model(modelId);
+        long start = System.nanoTime();
+        double[] row = lm.predictor().plan().bind(features);
+        lm.timers().bind().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return routeRow(modelId, lm, row);
+    }
+
+    /**
+     * Batch entrypoint: score many feature‐maps against the named model in
+     * one vectorized call. Results come back in request order; any invalid
+     * row fails the whole batch with IllegalArgumentException (→ 400).
+     */
+    public List<Object> predictBatch(String modelId, List<Map<String, Object>> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Instances list cannot be empty");
+        }
+        LoadedModel lm = model(modelId);
+        FeaturePlan plan = lm.predictor().plan();
+        long start = System.nanoTime();
+        double[][] bound = new double[rows.size()][];
+        for (int r = 0; r < bound.length; r++) {
+            bound[r] = plan.bind(rows.get(r), plan.newRow());
+        }
+        lm.timers().bind().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return routeRows(modelId, lm, bound);
+    }
+
+    /**
+     * Compiled feature layout of the named model, loading it if needed.
+     * Used by request decoders to bind bodies straight into primitive rows.
+     */
+    @Override
+    public FeaturePlan plan(String modelId) {
+        return model(modelId).predictor().plan();
+    }
+
+    /**
+     * Score synthetic rows on exactly the named version, for prewarming: no
+     * routing, shadowing, result cache, batching, admission or metrics, so
+     * warmup neither reaches other versions nor skews what is measured.
+     */
+    void warm(String modelId, double[][] rows, boolean batch) {
+        Predictable predictor = model(modelId).predictor();
+        if (batch) {
+            predictor.predictRows(rows);
+            return;
+        }
+        for (double[] row : rows) {
+            predictor.predictRow(row);
+        }
+    }
+
+    /**
+     * Score one row already bound through {@link #plan(String)}.
+     */
+    @Override
+    public Object predictRow(String modelId, FeaturePlan plan, double[] row) {
+        return routeRow(modelId, boundModel(modelId, plan), row);
+    }
+
+    /**
+     * The model serving {@code modelId}, provided it reads rows bound with
+     * {@code plan} the same way. If {@code current} moved to a version with
+     * another layout between binding and scoring, the request fails with a
+     * retryable error instead of being scored slot by slot on the wrong features.
+     */
+    private LoadedModel boundModel(String modelId, FeaturePlan plan) {
+        LoadedModel lm = model(modelId);
+        if (!lm.predictor().plan().compatibleWith(plan)) {
+            throw new ModelChangedException(modelId);
+        }
+        return lm;
+    }
+
+    /**
+     * Answer from the version the router picks and mirror the row to its
+     * shadow version, if any. Rows were bound with {@code primary}'s plan.
+     */
+    private Object routeRow(String modelId, LoadedModel primary, double[] row) {
+        ModelRouter.Decision decision = router.route(modelId);
+        if (decision == null) {
+            return predictRow(modelId, primary, row);
+        }
+        Route route = route(modelId, primary, decision);
+        Object prediction = predictRow(route.key(), route.model(), row);
+        if (decision.shadow() != null) {
+            shadow(decision.shadow(), primary, new double[][] { row }, List.of(prediction));
+        }
+        return prediction;
+    }
+
+    private List<Object> routeRows(String modelId, LoadedModel primary, double[][] rows) {
+        ModelRouter.Decision decision = router.route(modelId);
+        if (decision == null) {
+            return predictRows(modelId, primary, rows);
+        }
+        Route route = route(modelId, primary, decision);
+        List<Object> predictions = predictRows(route.key(), route.model(), rows);
+        if (decision.shadow() != null) {
+            shadow(decision.shadow(), primary, rows, predictions);
+        }
+        return predictions;
+    }
+
+    /**
+     * Cache key and model that answer a routed request.
+     */
+    private record Route(String key, LoadedModel model) {
+    }
+
+    /**
+     * The canary if it is loaded and binds rows the same way as the primary;
+     * otherwise the primary answers under its own key (a cold canary starts
+     * loading, so the request never waits on it). Counts the version that
+     * actually answered.
+     */
+    private Route route(String modelId, LoadedModel primary, ModelRouter.Decision decision) {
+        String targetKey = decision.target();
+        Route route = new Route(modelId, primary);
+        LoadedModel target = targetKey.equals(modelId) ? null : routedModel(targetKey);
+        if (target != null) {
+            if (target == primary || target.predictor().plan().compatibleWith(primary.predictor().plan())) {
+                route = new Route(targetKey, target);
+            }
+            else if (routeTarget(targetKey).firstIncompatible(target)) {
+                log.warn("🔀 `{}` binds features differently from the primary; primary answers", targetKey);
+            }
+        }
+        router.answered(modelId, !route.key().equals(modelId));
+        return route;
+    }
+
+    /**
+     * The routed (canary or shadow) version if it is loaded; otherwise null,
+     * and its load is started unless one is running or it recently failed.
+     */
+    private LoadedModel routedModel(String targetKey) {
+        LoadedModel target = currentModel(targetKey);
+        if (target == null) {
+            RouteTarget state = routeTarget(targetKey);
+            if (state.tryStartLoad()) {
+                preload(targetKey).whenComplete((lm, e) -> state.loaded(targetKey, e));
+            }
+        }
+        return target;
+    }
+
+    private RouteTarget routeTarget(String targetKey) {
+        RouteTarget state = routeTargets.get(targetKey);
+        return state != null ? state : routeTargets.computeIfAbsent(targetKey, k -> new RouteTarget());
+    }
+
+    /**
+     * Load state of a canary or shadow version. Caffeine keeps no failed
+     * futures, so without this every routed request would retry a broken
+     * version's load (a storage round-trip and an error log each); failures
+     * back off exponentially instead, and an incompatible version is
+     * reported once per loaded instance.
+     */
+    private static final class RouteTarget {
+
+        private static final long BASE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+        private static final long MAX_BACKOFF_NANOS  = TimeUnit.MINUTES.toNanos(5);
+
+        private boolean     loading;
+        private int         failures;
+        private long        retryAt;
+        private LoadedModel reportedIncompatible;
+
+        synchronized boolean tryStartLoad() {
+            if (loading || (failures > 0 && System.nanoTime() - retryAt < 0)) {
+                return false;
+            }
+            loading = true;
+            return true;
+        }
+
+        synchronized void loaded(String targetKey, Throwable error) {
+            loading = false;
+            if (error == null) {
+                failures = 0;
+                return;
+            }
+            failures++;
+            long backoff = Math.min(MAX_BACKOFF_NANOS, BASE_BACKOFF_NANOS << Math.min(failures - 1, 20));
+            retryAt = System.nanoTime() + backoff;
+            log.warn("🔀 Routed version `{}` failed to load ({} in a row); primary answers, next try in {} s",
+                     targetKey, failures, TimeUnit.NANOSECONDS.toSeconds(backoff));
+        }
+
+        synchronized boolean firstIncompatible(LoadedModel target) {
+            if (reportedIncompatible == target) {
+                return false;
+            }
+            reportedIncompatible = target;
+            return true;
+        }
+    }
+
+    /**
+     * Score the same rows on the shadow version off the request thread,
+     * only once it is loaded and when a scoring slot is free right away.
+     */
+    private void shadow(String shadowKey, LoadedModel primary, double[][] rows, List<Object> answered) {
+        LoadedModel lm = routedModel(shadowKey);
+        if (lm == null) {
+            // still loading, or backing off after a failed load
+            return;
+        }
+        shadows.submit(shadowKey, () -> {
+            if (!lm.predictor().plan().compatibleWith(primary.predictor().plan())) {
+                throw new IllegalStateException("Feature layout differs from the primary");
+            }
+            if (!limiter.tryAcquire()) {
+                return null;
+            }
+            try {
+                return lm.predictRows(rows);
+            } finally {
+                limiter.release();
+            }
+        }, answered);
+    }
+
+    /**
+     * With micro-batching on, the row joins the model's next batch;
+     * otherwise it is scored alone.
+     */
+    private Object predictRow(String modelId, LoadedModel lm, double[] row) {
+        ResultCache results = lm.results();
+        ResultCache.RowKey key = null;
+        if (results != null) {
+            key = results.key(row);
+            Object hit = results.get(key);
+            if (hit != null) {
+                return hit;
+            }
+        }
+        Object prediction = scoreRow(modelId, lm, row);
+        if (results != null) {
+            results.put(key, prediction);
+        }
+        return prediction;
+    }
+
+    private Object scoreRow(String modelId, LoadedModel lm, double[] row) {
+        if (lm.batcher() != null) {
+            // the model's limit and the deadline apply now; the batch takes its scoring slot on flush
+            try (InferenceLimiter.Permit admitted = limiter.admit(modelId)) {
+                return lm.batcher().predict(row);
+            }
+        }
+        return bulkheads.call(modelId, false, () -> lm.predictRow(row));
+    }
+
+    /**
+     * Score many bound rows in one vectorized call, results in input order.
+     */
+    @Override
+    public List<Object> predictRows(String modelId, FeaturePlan plan, double[][] rows) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Instances list cannot be empty");
+        }
+        return routeRows(modelId, boundModel(modelId, plan), rows);
+    }
+
+    /**
+     * Serve what the result cache has and score only the missing rows,
+     * as one smaller batch.
+     */
+    private List<Object> predictRows(String modelId, LoadedModel lm, double[][] rows) {
+        ResultCache results = lm.results();
+        if (results == null) {
+            return scoreRows(modelId, lm, rows);
+        }
+        Object[]             out    = new Object[rows.length];
+        ResultCache.RowKey[] keys   = new ResultCache.RowKey[rows.length];
+        int[]                misses = new int[rows.length];
+        int                  missed = 0;
+        for (int r = 0; r < rows.length; r++) {
+            keys[r] = results.key(rows[r]);
+            out[r]  = results.get(keys[r]);
+            if (out[r] == null) {
+                misses[missed++] = r;
+            }
+        }
+        if (missed > 0) {
+            double[][] pending = new double[missed][];
+            for (int i = 0; i < missed; i++) {
+                pending[i] = rows[misses[i]];
+            }
+            List<Object> scored = scoreRows(modelId, lm, pending);
+            for (int i = 0; i < missed; i++) {
+                out[misses[i]] = scored.get(i);
+                results.put(keys[misses[i]], scored.get(i));
+            }
+        }
+        return Arrays.asList(out);
+    }
+
+    /**
+     * A batch holds one scoring slot, or one bulkhead thread, for its whole run.
+     */
+    private List<Object> scoreRows(String modelId, LoadedModel lm, double[][] rows) {
+        return bulkheads.call(modelId, false, () -> lm.predictRows(rows));
+    }
+
+    /**
+     * A micro-batch of rows already admitted one by one: it only needs a
+     * scoring slot (or its bulkhead), not another turn against the model's limit.
+     */
+    private List<Object> scoreBatched(String modelId, LoadedModel lm, double[][] rows) {
+        return bulkheads.call(modelId, true, () -> lm.predictRows(rows));
+    }
+
+    /**
+     * Class probabilities of one bound row, best first ({@code k <= 0}:
+     * every class). Scored on the version the router picks, bypassing the
+     * result cache and micro-batcher, which only hold labels.
+     */
+    public List<ClassScore> predictScores(String modelId, FeaturePlan plan, double[] row, int k) {
+        Route route = scoringRoute(modelId, plan);
+        return bulkheads.call(route.key(), false,
+                              () -> route.model().predictScores(route.key(), row, k));
+    }
+
+    /**
+     * {@link #predictScores} for many rows; the batch holds one scoring slot.
+     */
+    public List<List<ClassScore>> predictScoreRows(String modelId, FeaturePlan plan, double[][] rows, int k) {
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Instances list cannot be empty");
+        }
+        Route route = scoringRoute(modelId, plan);
+        return bulkheads.call(route.key(), false, () -> {
+            List<List<ClassScore>> out = new ArrayList<>(rows.length);
+            for (double[] row : rows) {
+                out.add(route.model().predictScores(route.key(), row, k));
+            }
+            return out;
+        });
+    }
+
+    private Route scoringRoute(String modelId, FeaturePlan plan) {
+        LoadedModel primary = boundModel(modelId, plan);
+        ModelRouter.Decision decision = router.route(modelId);
+        return decision == null ? new Route(modelId, primary) : route(modelId, primary, decision);
+    }
+
+    /**
+     * Request-path timers of the named model, for decoders that bind
+     * outside this service.
+     */
+    @Override
+    public ModelMetrics.ModelTimers timers(String modelId) {
+        return model(modelId).timers();
+    }
+
+    /**
+     * Hit/miss/eviction counters and load times since startup.
+     */
+    public CacheStats cacheStats() {
+        return modelCache.synchronous().stats();
+    }
+
+    /**
+     * Re-check storage for the named model now instead of waiting for
+     * {@code model.cache.refresh-after-write}; the current model keeps
+     * serving until the new one is loaded. Completes with the version now
+     * serving (null when unversioned), or exceptionally if the load failed,
+     * in which case the previous model is still the one in the cache.
+     */
+    public CompletableFuture<String> refresh(String modelId) {
+        return modelCache.synchronous().refresh(modelId).thenApply(LoadedModel::version);
+    }
+
+    /**
+     * Version each cached model is serving (null when unversioned).
+     */
+    public Map<String, String> cachedVersions() {
+        Map<String, String> versions = new TreeMap<>();
+        modelCache.asMap().forEach((id, future) -> {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                versions.put(id, String.valueOf(future.join().version()));
+            }
+        });
+        return versions;
+    }
+
+    public Set<String> cachedModelIds() {
+        return Set.copyOf(modelCache.asMap().keySet());
     }
 
     /**
      * Deserialize a Java‐serialized model from an InputStream.
      */
-    private Serializable deserializeModel(InputStream in) throws Exception {
+    private static Serializable deserializeModel(InputStream in) throws Exception {
         try (ObjectInputStream ois = new ObjectInputStream(in)) {
             Object obj = ois.readObject();
             if (!(obj instanceof Serializable)) {
@@ -80,18 +810,65 @@ public class ModelService {
     }
 
     /**
-     * Simple holder for a loaded model + its metadata.
+     * Simple holder for a loaded model + its metadata and version
+     * (null for the unversioned layout), plus the storage ETag/size it was loaded from (for refresh and weighing)
+     * its pre-resolved request timers and, when enabled, its micro-batcher
+     * and result cache.
      */
     private static record LoadedModel(Predictable predictor,
-                                      ModelMetadata metadata) {
+                                      ModelMetadata metadata,
+                                      String version,
+                                      String etag,
+                                      long sizeBytes,
+                                      ModelMetrics.ModelTimers timers,
+                                      MicroBatcher batcher,
+                                      ResultCache results) {
 
-        /**  
-         * Validate & invoke the underlying adapter  
-         * (any Invalid format → IllegalArgumentException)  
-         * (any numeric → class mapping is done in the adapter itself)  
+        LoadedModel withBatcher(MicroBatcher batcher) {
+            return new LoadedModel(predictor, metadata, version, etag, sizeBytes, timers, batcher, results);
+        }
+
+        void close() {
+            if (batcher != null) {
+                batcher.close();
+            }
+            if (results != null) {
+                results.invalidate();
+            }
+        }
+
+        /**
+         * Invoke the underlying adapter on a bound row
+         * (any numeric → class mapping is done in the adapter itself)
          */
-        Object predict(Map<String, Object> features) {
-            return predictor.predict(features);
+        Object predictRow(double[] row) {
+            long start = System.nanoTime();
+            Object prediction = predictor.predictRow(row);
+            timers.predict().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return prediction;
+        }
+
+        List<Object> predictRows(double[][] rows) {
+            long start = System.nanoTime();
+            List<Object> predictions = predictor.predictRows(rows);
+            timers.predictBatch().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return predictions;
         }
+
+        List<ClassScore> predictScores(String modelId, double[] row, int k) {
+            long start = System.nanoTime();
+            List<ClassScore> scores = predictor.predictScores(row, k);
+            timers.predict().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (scores == null) {
+                throw new IllegalArgumentException("Model `" + modelId + "` does not produce class probabilities");
+            }
+            return scores;
+        }
+    }
+
+    /**
+     * An opened model artifact and the storage ETag/size it came from.
+     */
+    private static record Artifact(Object raw, String etag, long size) {
     }
 }
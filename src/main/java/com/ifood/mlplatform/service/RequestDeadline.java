@@ -0,0 +1,50 @@
+package com.ifood.mlplatform.service;
+
+/**
+ * Queue-time budget of the request the current thread is serving, taken
+ * from the {@value #HEADER} header on arrival. {@link InferenceLimiter}
+ * never waits for a scoring slot past it, so a caller that has already
+ * given up does not keep a slot busy.
+ */
+public final class RequestDeadline {
+
+    /** Milliseconds the caller is still willing to wait, counted from arrival. */
+    public static final String HEADER = "X-Deadline-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + budgetMillis * 1_000_000L);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /** This thread's deadline in {@code nanoTime} terms, or null; for handing work to another thread. */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /** Adopt a deadline captured with {@link #current()} (null clears it). */
+    public static void restore(Long deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        }
+        else {
+            DEADLINE.set(deadline);
+        }
+    }
+
+    /**
+     * Nanoseconds left before the deadline (negative once it passed), or
+     * {@code fallback} when the request carried none.
+     */
+    public static long remainingNanos(long fallback) {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? fallback : deadline - System.nanoTime();
+    }
+}
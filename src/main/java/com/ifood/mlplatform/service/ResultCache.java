@@ -0,0 +1,101 @@
+package com.ifood.mlplatform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.ifood.mlplatform.config.ResultCacheProperties;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Predictions of one loaded model, keyed by its bound feature row.
+ *
+ * Each feature is reduced to a long, either its exact bit pattern or, when
+ * the schema declares a {@code rounding} step, the index of the nearest
+ * multiple of that step. Near-identical rows therefore share an entry.
+ * The cache belongs to a LoadedModel, so a new model version starts empty.
+ */
+final class ResultCache {
+
+    private final Cache<RowKey, Object>    cache;
+    private final double[]                 steps;
+    private final ModelMetrics.CacheMeters meters;
+
+    ResultCache(ModelMetadata metadata, ResultCacheProperties properties, ModelMetrics.CacheMeters meters) {
+        List<ModelMetadata.Feature> features = metadata.features;
+        this.steps = new double[features.size()];
+        for (int i = 0; i < steps.length; i++) {
+            Double rounding = features.get(i).rounding;
+            steps[i] = rounding == null || rounding <= 0 ? 0 : rounding;
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(properties.getMaximumSize());
+        if (properties.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(properties.getExpireAfterWrite());
+        }
+        this.cache  = builder
+            .removalListener((RowKey k, Object v, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    meters.evictions().increment();
+                }
+            })
+            .build();
+        this.meters = meters;
+        meters.bind(cache);
+    }
+
+    RowKey key(double[] row) {
+        long[] bits = new long[steps.length];
+        long   hash = 1;
+        for (int i = 0; i < bits.length; i++) {
+            double v = row[i];
+            bits[i] = steps[i] == 0
+                    ? Double.doubleToLongBits(v == 0.0 ? 0.0 : v) // -0.0 and 0.0 are one key
+                    : Math.round(v / steps[i]);
+            hash = hash * 0x9E3779B97F4A7C15L + bits[i];
+        }
+        return new RowKey(bits, (int) (hash ^ (hash >>> 32)));
+    }
+
+    /** Cached prediction for {@code key}, or null on a miss. */
+    Object get(RowKey key) {
+        Object hit = cache.getIfPresent(key);
+        (hit != null ? meters.hits() : meters.misses()).increment();
+        return hit;
+    }
+
+    void put(RowKey key, Object prediction) {
+        cache.put(key, prediction);
+    }
+
+    void invalidate() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Quantized feature row with its hash computed once.
+     */
+    static final class RowKey {
+        private final long[] bits;
+        private final int    hash;
+
+        RowKey(long[] bits, int hash) {
+            this.bits = bits;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowKey other
+                && other.hash == hash
+                && Arrays.equals(other.bits, bits);
+        }
+    }
+}
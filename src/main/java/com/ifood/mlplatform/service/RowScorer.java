@@ -0,0 +1,40 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Scoring of rows already bound to a model's {@link FeaturePlan}: what a
+ * front end that binds its own input (gRPC, WebFlux) needs from
+ * {@link ModelService}. Routing, admission, batching and caching stay
+ * behind it.
+ */
+public interface RowScorer {
+
+    /**
+     * Completes once the named model is loaded, so a non-blocking front end
+     * can wait for it without parking a thread.
+     */
+    CompletableFuture<Void> preload(String modelId);
+
+    /**
+     * Compiled feature layout of the named model, loading it if needed.
+     * Rows bound with it are scored by passing it back to
+     * {@link #predictRow} / {@link #predictRows}.
+     */
+    FeaturePlan plan(String modelId);
+
+    /** Request-path timers of the named model, to record binding time. */
+    ModelMetrics.ModelTimers timers(String modelId);
+
+    /**
+     * Score one row bound with {@code plan}; fails with
+     * {@link com.ifood.mlplatform.exception.ModelChangedException} if the
+     * model was swapped for one that binds differently in the meantime.
+     */
+    Object predictRow(String modelId, FeaturePlan plan, double[] row);
+
+    List<Object> predictRows(String modelId, FeaturePlan plan, double[][] rows);
+}
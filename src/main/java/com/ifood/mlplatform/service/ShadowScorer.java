@@ -0,0 +1,86 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.RoutingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs shadow predictions off the request path and compares them with
+ * what the caller was actually answered.
+ *
+ * A small fixed pool with a bounded queue: when it is full the shadow call
+ * is dropped and counted, so shadow load can never back-pressure requests.
+ * Latency of each version lands in its own {@code model.predict} timers
+ * (tagged by its {@code modelId@vN} key); agreement is counted here.
+ */
+@Slf4j
+@Component
+public class ShadowScorer {
+
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry      registry;
+    private final Counter            dropped;
+
+    public ShadowScorer(RoutingProperties properties, MeterRegistry registry) {
+        AtomicInteger seq = new AtomicInteger();
+        this.registry = registry;
+        this.dropped  = registry.counter("model.shadow.dropped");
+        this.executor = new ThreadPoolExecutor(
+            properties.getShadowThreads(), properties.getShadowThreads(),
+            0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getShadowQueueCapacity()),
+            r -> {
+                Thread t = new Thread(r, "shadow-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.MIN_PRIORITY);
+                return t;
+            },
+            (r, pool) -> dropped.increment());
+    }
+
+    /**
+     * Score {@code shadow} in the background and compare it row by row
+     * with {@code answered}. Returns immediately.
+     */
+    public void submit(String shadowKey, Supplier<List<Object>> shadow, List<Object> answered) {
+        executor.execute(() -> {
+            try {
+                List<Object> predictions = shadow.get();
+                if (predictions == null) {
+                    // no capacity to spare right now
+                    dropped.increment();
+                    return;
+                }
+                int agree = 0;
+                for (int i = 0; i < answered.size(); i++) {
+                    if (Objects.equals(answered.get(i), predictions.get(i))) {
+                        agree++;
+                    }
+                }
+                registry.counter("model.shadow.rows", "model", shadowKey, "result", "agree").increment(agree);
+                registry.counter("model.shadow.rows", "model", shadowKey, "result", "disagree")
+                        .increment(answered.size() - agree);
+            } catch (RuntimeException e) {
+                registry.counter("model.shadow.errors", "model", shadowKey,
+                                 "exception", e.getClass().getSimpleName()).increment();
+                log.debug("👻 Shadow `{}` failed: {}", shadowKey, e.getMessage());
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
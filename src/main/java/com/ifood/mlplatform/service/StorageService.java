@@ -2,18 +2,41 @@ package com.ifood.mlplatform.service;
 
 import io.minio.MinioClient;
 import io.minio.GetObjectArgs;
+import io.minio.GetObjectResponse;
+import io.minio.ListObjectsArgs;
 import io.minio.PutObjectArgs;
 import io.minio.StatObjectArgs;
+import io.minio.StatObjectResponse;
+import io.minio.Result;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.ifood.mlplatform.config.StorageProperties;
 import com.ifood.mlplatform.exception.StorageException;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -21,10 +44,32 @@ import java.nio.file.Path;
 public class StorageService {
 
     private final MinioClient minioClient;
+    private final StorageProperties properties;
+    private final ExecutorFactory executors;
 
     @Value("${BUCKET_NAME}")
     private String bucket;
 
+    private Path blobDir;
+    private ExecutorService fetchExecutor;
+
+    // ETag each object was last served under, to drop the blob of an overwritten object
+    private final Map<String, String> blobEtags = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() throws IOException {
+        fetchExecutor = executors.blocking("storage-fetch-", properties.getFetchThreads());
+        if (properties.getCacheDir() != null && !properties.getCacheDir().isBlank()) {
+            blobDir = Files.createDirectories(Path.of(properties.getCacheDir(), "blobs"));
+            log.info("💾 Local artifact cache at `{}`", blobDir);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
     public void upload(String objectName, Path filePath) {
         try (InputStream is = Files.newInputStream(filePath)) {
             long size = Files.size(filePath);
@@ -54,22 +99,295 @@ public class StorageService {
     }
 
     public InputStream download(String objectName) {
+        return fetch(objectName).stream();
+    }
+
+    /**
+     * Open an object together with its ETag and size.
+     *
+     * Without a local cache this is a single GET (ETag/size come from the
+     * response headers). With {@code model.storage.cache-dir} set, a HEAD
+     * resolves the current ETag and the body is served from
+     * {@code blobs/<etag>} on disk, downloading it only on a miss, so
+     * restarts skip re-downloading unchanged artifacts.
+     */
+    public StoredObject fetch(String objectName) {
+        return fetch(objectName, false);
+    }
+
+    /**
+     * {@link #fetch(String)}, empty when the object does not exist. For
+     * speculative reads, where a miss is expected: it is only logged at debug.
+     */
+    public Optional<StoredObject> fetchIfExists(String objectName) {
+        return Optional.ofNullable(fetch(objectName, true));
+    }
+
+    private StoredObject fetch(String objectName, boolean missingOk) {
+        try {
+            if (blobDir == null) {
+                log.info("⬇️ Downloading `{}`", objectName);
+                GetObjectResponse response = minioClient.getObject(
+                    GetObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName)
+                        .build()
+                );
+                String length = response.headers().get("Content-Length");
+                return new StoredObject(response,
+                                        unquote(response.headers().get("ETag")),
+                                        length == null ? -1 : Long.parseLong(length));
+            }
+
+            StoredFile blob = cachedBlob(objectName);
+            return new StoredObject(Files.newInputStream(blob.path()), blob.etag(), blob.size());
+        } catch (StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            if (missingOk && isNoSuchKey(e)) {
+                log.debug("`{}` not in storage", objectName);
+                return null;
+            }
+            log.error("❌ Download of `{}` failed: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Failed to download object: " + objectName, e);
+        }
+    }
+
+    /**
+     * Materialize an object as a local file, e.g. to memory-map it.
+     * With the disk cache on this is the shared cached blob; otherwise a
+     * temporary file ({@link StoredFile#temporary()}) the caller deletes
+     * once done with it.
+     */
+    public StoredFile fetchFile(String objectName) {
+        return fetchFile(objectName, false);
+    }
+
+    /**
+     * {@link #fetchFile(String)}, empty when the object does not exist
+     * (logged at debug only).
+     */
+    public Optional<StoredFile> fetchFileIfExists(String objectName) {
+        return Optional.ofNullable(fetchFile(objectName, true));
+    }
+
+    private StoredFile fetchFile(String objectName, boolean missingOk) {
+        try {
+            if (blobDir != null) {
+                return cachedBlob(objectName);
+            }
+            Path tmp = Files.createTempFile("artifact-", ".tmp");
+            try (StoredObject object = fetch(objectName, missingOk)) {
+                if (object == null) {
+                    Files.deleteIfExists(tmp);
+                    return null;
+                }
+                Files.copy(object.stream(), tmp, StandardCopyOption.REPLACE_EXISTING);
+                return new StoredFile(tmp, object.etag(), Files.size(tmp), true);
+            } catch (RuntimeException | IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+        } catch (StorageException e) {
+            throw e;
+        } catch (Exception e) {
+            if (missingOk && isNoSuchKey(e)) {
+                log.debug("`{}` not in storage", objectName);
+                return null;
+            }
+            log.error("❌ Download of `{}` failed: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Failed to download object: " + objectName, e);
+        }
+    }
+
+    /**
+     * Resolve the object's current ETag and make sure {@code blobs/<etag>}
+     * holds its bytes, downloading through a temp file on a miss. A hit
+     * refreshes the blob's mtime, which is what {@link #prune} evicts by.
+     */
+    private StoredFile cachedBlob(String objectName) throws Exception {
+        StatObjectResponse stat = minioClient.statObject(StatObjectArgs.builder()
+                .bucket(bucket)
+                .object(objectName)
+                .build());
+        Path blob = blobDir.resolve(blobName(stat.etag()));
+        if (Files.exists(blob) && Files.size(blob) == stat.size()) {
+            log.info("💾 Cache hit for `{}` (etag {})", objectName, stat.etag());
+            Files.setLastModifiedTime(blob, FileTime.fromMillis(System.currentTimeMillis()));
+        } else {
+            log.info("⬇️ Downloading `{}` into local cache", objectName);
+            Path tmp = Files.createTempFile(blobDir, "fetch-", ".part");
+            try (InputStream in = minioClient.getObject(
+                    GetObjectArgs.builder()
+                        .bucket(bucket)
+                        .object(objectName)
+                        .build())) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+                if (Files.size(tmp) != stat.size()) {
+                    throw new IOException("Size mismatch for " + objectName + ": expected "
+                                          + stat.size() + ", got " + Files.size(tmp));
+                }
+                Files.move(tmp, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+            prune(blob);
+        }
+        String previous = blobEtags.put(objectName, stat.etag());
+        if (previous != null && !previous.equals(stat.etag()) && !blobEtags.containsValue(previous)) {
+            // no version that can still be loaded has these bytes
+            deleteBlob(blobDir.resolve(blobName(previous)), "`" + objectName + "` was overwritten");
+        }
+        return new StoredFile(blob, stat.etag(), stat.size(), false);
+    }
+
+    /**
+     * Delete the least recently used blobs until the cache fits
+     * {@code cache-max-size}, never {@code keep}, the blob just written.
+     * Loaded models do not need their blob any more: Java models were
+     * deserialized, and a memory-mapped forest keeps its pages once the
+     * file is unlinked.
+     */
+    private synchronized void prune(Path keep) {
+        long max = properties.getCacheMaxSize().toBytes();
+        List<CachedBlob> blobs = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> files = Files.list(blobDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".part")) {
+                    continue;
+                }
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                    blobs.add(new CachedBlob(file, attrs.size(), attrs.lastModifiedTime()));
+                    total += attrs.size();
+                } catch (IOException e) {
+                    // deleted meanwhile, e.g. by another pod sharing the directory
+                }
+            }
+        } catch (IOException e) {
+            log.warn("💾 Could not list the artifact cache: {}", e.getMessage());
+            return;
+        }
+        if (total <= max) {
+            return;
+        }
+        blobs.sort(Comparator.comparing(CachedBlob::used));
+        for (CachedBlob b : blobs) {
+            if (total <= max) {
+                break;
+            }
+            if (!b.path().equals(keep) && deleteBlob(b.path(), "cache over " + properties.getCacheMaxSize())) {
+                total -= b.size();
+            }
+        }
+    }
+
+    private boolean deleteBlob(Path blob, String reason) {
         try {
-            // optional: verify existence
-            minioClient.statObject(StatObjectArgs.builder()
+            if (Files.deleteIfExists(blob)) {
+                log.info("🧹 Deleted cached blob `{}`: {}", blob.getFileName(), reason);
+                return true;
+            }
+        } catch (IOException e) {
+            log.warn("🧹 Could not delete cached blob `{}`: {}", blob.getFileName(), e.getMessage());
+        }
+        return false;
+    }
+
+    private record CachedBlob(Path path, long size, FileTime used) {
+    }
+
+    /**
+     * {@link #fetch(String)} on the storage I/O pool, so several artifacts
+     * can be transferred concurrently.
+     */
+    public CompletableFuture<StoredObject> fetchAsync(String objectName) {
+        return CompletableFuture.supplyAsync(() -> fetch(objectName), fetchExecutor);
+    }
+
+    public CompletableFuture<StoredFile> fetchFileAsync(String objectName) {
+        return CompletableFuture.supplyAsync(() -> fetchFile(objectName), fetchExecutor);
+    }
+
+    public CompletableFuture<Optional<StoredObject>> fetchIfExistsAsync(String objectName) {
+        return CompletableFuture.supplyAsync(() -> fetchIfExists(objectName), fetchExecutor);
+    }
+
+    public CompletableFuture<Optional<StoredFile>> fetchFileIfExistsAsync(String objectName) {
+        return CompletableFuture.supplyAsync(() -> fetchFileIfExists(objectName), fetchExecutor);
+    }
+
+    private static boolean isNoSuchKey(Throwable e) {
+        return e instanceof ErrorResponseException ere && "NoSuchKey".equals(ere.errorResponse().code());
+    }
+
+    /**
+     * Metadata-only lookup (ETag, size) without transferring the object.
+     */
+    public StatObjectResponse stat(String objectName) {
+        try {
+            return minioClient.statObject(StatObjectArgs.builder()
                     .bucket(bucket)
                     .object(objectName)
                     .build());
-            log.info("⬇️ Downloading `{}`", objectName);
-            return minioClient.getObject(
+        } catch (Exception e) {
+            log.error("❌ Stat of `{}` failed: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Failed to stat object: " + objectName, e);
+        }
+    }
+
+    /**
+     * Read a small text object such as a version pointer, trimmed;
+     * empty when the object does not exist.
+     */
+    public Optional<String> readText(String objectName) {
+        try (GetObjectResponse response = minioClient.getObject(
                 GetObjectArgs.builder()
                     .bucket(bucket)
                     .object(objectName)
-                    .build()
-            );
+                    .build())) {
+            return Optional.of(new String(response.readAllBytes(), StandardCharsets.UTF_8).trim());
+        } catch (ErrorResponseException e) {
+            if ("NoSuchKey".equals(e.errorResponse().code())) {
+                return Optional.empty();
+            }
+            log.error("❌ Read of `{}` failed: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Failed to read object: " + objectName, e);
         } catch (Exception e) {
-            log.error("❌ Download of `{}` failed: {}", objectName, e.getMessage(), e);
-            throw new StorageException("Failed to download object: " + objectName, e);
+            log.error("❌ Read of `{}` failed: {}", objectName, e.getMessage(), e);
+            throw new StorageException("Failed to read object: " + objectName, e);
         }
     }
+
+    /**
+     * Top-level prefixes of the bucket, i.e. the IDs of the stored models.
+     */
+    public List<String> listModelIds() {
+        try {
+            List<String> ids = new ArrayList<>();
+            for (Result<Item> result : minioClient.listObjects(ListObjectsArgs.builder()
+                    .bucket(bucket)
+                    .recursive(false)
+                    .build())) {
+                Item item = result.get();
+                if (item.isDir()) {
+                    String name = item.objectName();
+                    ids.add(name.endsWith("/") ? name.substring(0, name.length() - 1) : name);
+                }
+            }
+            return ids;
+        } catch (Exception e) {
+            log.error("❌ Listing bucket `{}` failed: {}", bucket, e.getMessage(), e);
+            throw new StorageException("Failed to list bucket: " + bucket, e);
+        }
+    }
+
+    private static String unquote(String etag) {
+        return etag == null ? null : etag.replace("\"", "");
+    }
+
+    private static String blobName(String etag) {
+        return etag.replaceAll("[^A-Za-z0-9-]", "_");
+    }
 }
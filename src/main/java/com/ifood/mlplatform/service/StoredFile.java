@@ -0,0 +1,10 @@
+package com.ifood.mlplatform.service;
+
+import java.nio.file.Path;
+
+/**
+ * An artifact materialized on local disk plus the storage ETag/size it was read at.
+ * {@code temporary} files are owned by the caller and should be deleted after use.
+ */
+public record StoredFile(Path path, String etag, long size, boolean temporary) {
+}
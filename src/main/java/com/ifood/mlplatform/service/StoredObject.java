@@ -0,0 +1,16 @@
+package com.ifood.mlplatform.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An open artifact stream plus the storage ETag/size it was read at.
+ */
+public record StoredObject(InputStream stream, String etag, long size) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
@@ -0,0 +1,159 @@
+package com.ifood.mlplatform.training;
+
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads artifacts to MinIO while they are being written.
+ *
+ * The writer runs on its own thread into a pipe, and the pipe feeds a
+ * multipart {@code putObject} of unknown length, so a multi-GB model is
+ * never buffered whole in memory. If the writer fails it records its
+ * exception and closes the pipe; the upload's stream then throws that
+ * exception instead of reporting end of stream, so the multipart upload is
+ * aborted rather than completed as a truncated object, and {@link #stream}
+ * rethrows the writer's own exception.
+ */
+@Slf4j
+final class ArtifactUploader {
+
+    /** Multipart chunk size; MinIO's minimum is 5 MiB. */
+    static final long PART_SIZE = 16L << 20;
+
+    private static final int PIPE_BUFFER = 1 << 20;
+
+    @FunctionalInterface
+    interface ArtifactWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /** Where object bytes go; {@code size} is -1 when unknown. */
+    @FunctionalInterface
+    interface ObjectStore {
+        void put(String object, String contentType, InputStream in, long size, long partSize) throws Exception;
+    }
+
+    private final ObjectStore store;
+
+    ArtifactUploader(MinioClient client, String bucket) {
+        this((object, contentType, in, size, partSize) -> client.putObject(PutObjectArgs.builder()
+                .bucket(bucket)
+                .object(object)
+                .stream(in, size, partSize)
+                .contentType(contentType)
+                .build()));
+    }
+
+    ArtifactUploader(ObjectStore store) {
+        this.store = store;
+    }
+
+    void stream(String object, String contentType, ArtifactWriter writer) throws Exception {
+        PipedInputStream  in  = new PipedInputStream(PIPE_BUFFER);
+        PipedOutputStream out = new PipedOutputStream(in);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread producer = new Thread(() -> {
+            try {
+                writer.write(out);
+            } catch (Throwable e) {
+                // recorded before the pipe closes, so the reader sees it instead of a clean end
+                failure.set(e);
+            } finally {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        }, "artifact-writer");
+        producer.setDaemon(true);
+        producer.start();
+
+        WriterCheckedStream body = new WriterCheckedStream(in, failure);
+        try (body) {
+            store.put(object, contentType, body, -1, PART_SIZE);
+        } catch (Exception e) {
+            // a store failure closes the pipe under the writer; only blame the writer if it failed first
+            throw body.reportedWriterFailure ? rethrow(failure.get()) : e;
+        } finally {
+            // closing the pipe above unblocks a writer still waiting for room
+            producer.join();
+        }
+        if (failure.get() != null) {
+            throw rethrow(failure.get());
+        }
+        log.info("☁️ Streamed `{}`", object);
+    }
+
+    void put(String object, String contentType, byte[] bytes) throws Exception {
+        store.put(object, contentType, new ByteArrayInputStream(bytes), bytes.length, -1);
+    }
+
+    private static Exception rethrow(Throwable t) {
+        if (t instanceof Error e) {
+            throw e;
+        }
+        return (Exception) t;
+    }
+
+    /**
+     * The read end of the pipe, failing with the writer's exception where
+     * the pipe would report end of stream or a dead writer.
+     */
+    private static final class WriterCheckedStream extends FilterInputStream {
+
+        private final AtomicReference<Throwable> failure;
+        private boolean                          reportedWriterFailure;
+
+        WriterCheckedStream(InputStream in, AtomicReference<Throwable> failure) {
+            super(in);
+            this.failure = failure;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                return check(super.read());
+            } catch (IOException e) {
+                throw writerFailure(e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                return check(super.read(b, off, len));
+            } catch (IOException e) {
+                throw writerFailure(e);
+            }
+        }
+
+        private int check(int read) throws IOException {
+            if (read < 0 && failure.get() != null) {
+                throw writerFailure(null);
+            }
+            return read;
+        }
+
+        private IOException writerFailure(IOException fallback) {
+            Throwable e = failure.get();
+            if (e == null) {
+                return fallback;
+            }
+            reportedWriterFailure = true;
+            return e instanceof IOException io ? io : new IOException("Artifact writer failed", e);
+        }
+    }
+}
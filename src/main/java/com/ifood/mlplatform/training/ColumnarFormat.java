@@ -0,0 +1,399 @@
+package com.ifood.mlplatform.training;
+
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import com.ifood.mlplatform.util.MetadataConverter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@code *.cols}: a training set ingested once from CSV into little-endian
+ * primitive columns, so later training runs skip parsing entirely.
+ *
+ * <pre>
+ * int    magic ('MLCL'), version
+ * long   rows
+ * int    numFeatures
+ *        per feature: str name, int kind (0 = double, 1 = categorical),
+ *                     categorical only: int dictSize, str category[dictSize]
+ * str    labelName
+ * int    numClasses, str class[numClasses]
+ *        padding to 8 bytes
+ *        per feature: double[rows] (double) or int[rows] codes (categorical), padded to 8
+ * int    labels[rows]
+ * </pre>
+ * {@code str} is an int byte length followed by UTF-8 bytes.
+ *
+ * Reading memory-maps each column in windows below the 2 GiB mapping
+ * limit and bulk-copies it into the heap arrays Smile trains on, which runs
+ * at memory bandwidth instead of parser speed.
+ */
+@Slf4j
+public final class ColumnarFormat {
+
+    public static final String EXTENSION = ".cols";
+
+    static final int MAGIC   = 0x4D4C434C; // "MLCL"
+    static final int VERSION = 1;
+
+    static final int KIND_DOUBLE      = 0;
+    static final int KIND_CATEGORICAL = 1;
+
+    private static final int WINDOW = 1 << 30;
+    private static final int CHUNK  = 1 << 20;
+
+    private ColumnarFormat() {
+    }
+
+    public static boolean isColumnar(Path file) {
+        return file.getFileName().toString().endsWith(EXTENSION);
+    }
+
+    /**
+     * Write {@code data} to {@code file} through a temp file, moved into
+     * place only once complete.
+     */
+    public static void write(TrainingData data, Path file) throws IOException {
+        int  features = data.featureCount();
+        long rows     = data.rows();
+
+        Header header = new Header();
+        header.putInt(MAGIC).putInt(VERSION).putLong(rows).putInt(features);
+        for (int i = 0; i < features; i++) {
+            header.putString(data.name(i));
+            String[] dict = data.dictionary(i);
+            if (dict == null) {
+                header.putInt(KIND_DOUBLE);
+            } else {
+                header.putInt(KIND_CATEGORICAL).putInt(dict.length);
+                for (String c : dict) {
+                    header.putString(c);
+                }
+            }
+        }
+        header.putString(data.labelName()).putInt(data.classes().length);
+        for (String c : data.classes()) {
+            header.putString(c);
+        }
+        header.pad8();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".part");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                               StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(ch, ByteBuffer.wrap(header.bytes()));
+            ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < features; i++) {
+                double[] column = data.column(i);
+                boolean categorical = data.dictionary(i) != null;
+                for (double v : column) {
+                    if (buf.remaining() < Double.BYTES) {
+                        flush(ch, buf);
+                    }
+                    if (categorical) {
+                        buf.putInt((int) v);
+                    } else {
+                        buf.putDouble(v);
+                    }
+                }
+                if (categorical && (rows & 1) == 1) {
+                    buf.putInt(0); // keep the next column 8-aligned
+                }
+                flush(ch, buf);
+            }
+            for (int label : data.labels()) {
+                if (buf.remaining() < Integer.BYTES) {
+                    flush(ch, buf);
+                }
+                buf.putInt(label);
+            }
+            flush(ch, buf);
+            ch.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("💾 Wrote {} rows × {} features to {} ({} bytes)", rows, features, file, Files.size(file));
+    }
+
+    /**
+     * Memory-map a {@code *.cols} file into {@link TrainingData}, checking
+     * it still matches the schema's features (in order, with their kind and
+     * declared categories) and classes.
+     *
+     * The header is read on its own and every count and length in it is
+     * checked against the file size before anything is allocated or mapped,
+     * so a truncated or corrupt file fails with an IOException instead of
+     * an out-of-memory error or a partial read.
+     */
+    public static TrainingData read(Path file, ModelMetadata metadata) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long         size = ch.size();
+            HeaderReader head = new HeaderReader(ch, file);
+            if (size < 20 || head.getInt() != MAGIC) {
+                throw new IOException("Not a " + EXTENSION + " file: " + file);
+            }
+            int version = head.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported " + EXTENSION + " version " + version + ": " + file);
+            }
+            long rows     = head.getLong();
+            int  features = head.getCount(Integer.BYTES * 2);
+            if (rows < 0 || rows > Integer.MAX_VALUE - 8) {
+                throw new IOException("Invalid row count " + rows + " in " + file);
+            }
+            int n = (int) rows;
+
+            String[]   names = new String[features];
+            String[][] dicts = new String[features][];
+            for (int i = 0; i < features; i++) {
+                names[i] = head.getString();
+                int kind = head.getInt();
+                if (kind == KIND_CATEGORICAL) {
+                    dicts[i] = new String[head.getCount(Integer.BYTES)];
+                    for (int c = 0; c < dicts[i].length; c++) {
+                        dicts[i][c] = head.getString();
+                    }
+                } else if (kind != KIND_DOUBLE) {
+                    throw new IOException("Unknown kind " + kind + " for feature `" + names[i] + "` in " + file);
+                }
+            }
+            String   labelName = head.getString();
+            String[] classes   = new String[head.getCount(Integer.BYTES)];
+            for (int c = 0; c < classes.length; c++) {
+                classes[c] = head.getString();
+            }
+
+            long offset   = align8(head.position());
+            long expected = offset + (long) n * Integer.BYTES;
+            for (int i = 0; i < features; i++) {
+                expected += dicts[i] == null ? (long) n * Double.BYTES : align8((long) n * Integer.BYTES);
+            }
+            if (expected != size) {
+                throw new IOException("Truncated or corrupt " + EXTENSION + " file: header describes "
+                                      + expected + " bytes, file has " + size + ": " + file);
+            }
+            checkSchema(file, metadata, names, dicts, labelName, classes);
+
+            double[][] columns = new double[features][];
+            for (int i = 0; i < features; i++) {
+                columns[i] = new double[n];
+                if (dicts[i] == null) {
+                    readDoubles(ch, offset, columns[i]);
+                    offset += (long) n * Double.BYTES;
+                } else {
+                    int[] codes = new int[n];
+                    readInts(ch, offset, codes);
+                    for (int r = 0; r < n; r++) {
+                        columns[i][r] = codes[r];
+                    }
+                    offset += align8((long) n * Integer.BYTES);
+                }
+            }
+            int[] labels = new int[n];
+            readInts(ch, offset, labels);
+            log.info("⚡ Mapped {} rows × {} features from {}", n, features, file);
+            return new TrainingData(names, columns, dicts, labelName, classes, labels);
+        }
+    }
+
+    /**
+     * Features must match by name and kind, in order. A categorical
+     * feature's dictionary starts with the categories declared in the schema
+     * (ingest appends unseen values after them), so the declared list must
+     * still be a prefix of it or the stored codes mean other categories.
+     */
+    private static void checkSchema(Path file, ModelMetadata md, String[] names, String[][] dicts,
+                                    String labelName, String[] classes) throws IOException {
+        List<ModelMetadata.Feature> features = md.features;
+        boolean same = features.size() == names.length
+                    && labelName.equals(md.label.name)
+                    && Arrays.equals(classes, md.label.classes.toArray(new String[0]));
+        for (int i = 0; same && i < names.length; i++) {
+            ModelMetadata.Feature f = features.get(i);
+            same = names[i].equals(f.name)
+                && MetadataConverter.isCategorical(f) == (dicts[i] != null)
+                && (dicts[i] == null || startsWith(dicts[i], f.categories));
+        }
+        if (!same) {
+            throw new IOException("❌ " + file + " was ingested with a different schema; re-run the ingest");
+        }
+    }
+
+    private static boolean startsWith(String[] dictionary, List<String> declared) {
+        if (declared == null) {
+            return true;
+        }
+        if (declared.size() > dictionary.length) {
+            return false;
+        }
+        for (int c = 0; c < declared.size(); c++) {
+            if (!declared.get(c).equals(dictionary[c])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void readDoubles(FileChannel ch, long offset, double[] out) throws IOException {
+        int done = 0;
+        while (done < out.length) {
+            int count = Math.min(out.length - done, WINDOW / Double.BYTES);
+            MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, offset + (long) done * Double.BYTES,
+                                             (long) count * Double.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(out, done, count);
+            done += count;
+        }
+    }
+
+    private static void readInts(FileChannel ch, long offset, int[] out) throws IOException {
+        int done = 0;
+        while (done < out.length) {
+            int count = Math.min(out.length - done, WINDOW / Integer.BYTES);
+            MappedByteBuffer window = ch.map(FileChannel.MapMode.READ_ONLY, offset + (long) done * Integer.BYTES,
+                                             (long) count * Integer.BYTES);
+            window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(out, done, count);
+            done += count;
+        }
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        writeFully(ch, buf);
+        buf.clear();
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+    }
+
+    private static long align8(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    /** Little-endian, variable-length header builder. */
+    private static final class Header {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final ByteBuffer            scratch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        Header putInt(int v) {
+            scratch.clear();
+            out.write(scratch.putInt(v).array(), 0, Integer.BYTES);
+            return this;
+        }
+
+        Header putLong(long v) {
+            scratch.clear();
+            out.write(scratch.putLong(v).array(), 0, Long.BYTES);
+            return this;
+        }
+
+        Header putString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        void pad8() {
+            while ((out.size() & 7) != 0) {
+                out.write(0);
+            }
+        }
+
+        byte[] bytes() {
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Little-endian reader of the variable-length header, pulling the file
+     * through a small heap buffer. Lengths and counts are bounded by the
+     * bytes left in the file, so a corrupt value cannot trigger a huge
+     * allocation.
+     */
+    private static final class HeaderReader {
+        private final FileChannel ch;
+        private final Path        file;
+        private final long        size;
+        private ByteBuffer        buf = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN).flip();
+        private long              consumed;
+
+        HeaderReader(FileChannel ch, Path file) throws IOException {
+            this.ch   = ch;
+            this.file = file;
+            this.size = ch.size();
+        }
+
+        /** Bytes of the file read so far. */
+        long position() {
+            return consumed;
+        }
+
+        int getInt() throws IOException {
+            need(Integer.BYTES);
+            consumed += Integer.BYTES;
+            return buf.getInt();
+        }
+
+        long getLong() throws IOException {
+            need(Long.BYTES);
+            consumed += Long.BYTES;
+            return buf.getLong();
+        }
+
+        /**
+         * A count of entries that each take at least {@code minBytes} of
+         * what is left of the file.
+         */
+        int getCount(int minBytes) throws IOException {
+            int count = getInt();
+            if (count < 0 || (long) count * minBytes > size - consumed) {
+                throw new IOException("Corrupt " + EXTENSION + " header (count " + count + "): " + file);
+            }
+            return count;
+        }
+
+        String getString() throws IOException {
+            int length = getCount(1);
+            need(length);
+            consumed += length;
+            String s = new String(buf.array(), buf.arrayOffset() + buf.position(), length, StandardCharsets.UTF_8);
+            buf.position(buf.position() + length);
+            return s;
+        }
+
+        private void need(int bytes) throws IOException {
+            if (buf.remaining() >= bytes) {
+                return;
+            }
+            // keep the unread bytes at the front, then fill up behind them
+            if (bytes > buf.capacity()) {
+                buf = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN).put(buf);
+            } else {
+                buf.compact();
+            }
+            while (buf.position() < bytes) {
+                if (ch.read(buf, consumed + buf.position()) < 0) {
+                    throw new IOException("Truncated " + EXTENSION + " header: " + file);
+                }
+            }
+            buf.flip();
+        }
+    }
+}
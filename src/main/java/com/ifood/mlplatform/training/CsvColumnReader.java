@@ -0,0 +1,158 @@
+package com.ifood.mlplatform.training;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import com.ifood.mlplatform.util.MetadataConverter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a CSV straight into {@link TrainingData} columns.
+ *
+ * Records are parsed one at a time and converted with the schema's
+ * per-feature converters ({@link FeaturePlan#converterFor}), so only the
+ * primitive columns are ever held, never the whole file as strings.
+ * Categorical features are dictionary-encoded, starting from the schema's
+ * {@code categories} and extended with unseen values in order of first
+ * appearance. Columns grow in chunks of {@link #CHUNK} rows. Only the
+ * schema's features and label are read; other columns are skipped.
+ */
+@Slf4j
+public final class CsvColumnReader {
+
+    static final int CHUNK = 64 * 1024;
+
+    private CsvColumnReader() {
+    }
+
+    public static TrainingData read(Path csv, ModelMetadata metadata) throws IOException {
+        int features = metadata.features.size();
+        String label = metadata.label.name;
+
+        String[]                       names        = new String[features];
+        FeaturePlan.Converter[]        converters   = new FeaturePlan.Converter[features];
+        List<Map<String, Integer>>     dictionaries = new ArrayList<>(features);
+        for (int i = 0; i < features; i++) {
+            ModelMetadata.Feature f = metadata.features.get(i);
+            names[i] = f.name;
+            if (MetadataConverter.isCategorical(f)) {
+                Map<String, Integer> dict = new LinkedHashMap<>();
+                if (f.categories != null) {
+                    for (String c : f.categories) {
+                        dict.putIfAbsent(c, dict.size());
+                    }
+                }
+                dictionaries.add(dict);
+            } else {
+                converters[i] = FeaturePlan.converterFor(f);
+                dictionaries.add(null);
+            }
+        }
+
+        Map<String, Integer> classIndex = new HashMap<>();
+        List<String> classes = metadata.label.classes;
+        for (int i = 0; i < classes.size(); i++) {
+            classIndex.put(classes.get(i), i);
+        }
+
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .build();
+
+        try (Reader in = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             CSVParser parser = format.parse(in)) {
+
+            Map<String, Integer> header = parser.getHeaderMap();
+            int[] columnOf = new int[features];
+            for (int i = 0; i < features; i++) {
+                columnOf[i] = headerIndex(header, names[i]);
+            }
+            int labelColumn = headerIndex(header, label);
+
+            double[][] columns = new double[features][CHUNK];
+            int[]      labels  = new int[CHUNK];
+            int        n       = 0;
+
+            for (CSVRecord record : parser) {
+                if (n == labels.length) {
+                    int capacity = labels.length + Math.max(CHUNK, labels.length >> 1);
+                    for (int i = 0; i < features; i++) {
+                        columns[i] = Arrays.copyOf(columns[i], capacity);
+                    }
+                    labels = Arrays.copyOf(labels, capacity);
+                }
+                for (int i = 0; i < features; i++) {
+                    String text = record.get(columnOf[i]);
+                    Map<String, Integer> dict = dictionaries.get(i);
+                    if (dict != null) {
+                        Integer code = dict.get(text);
+                        if (code == null) {
+                            code = dict.size();
+                            dict.put(text, code);
+                        }
+                        columns[i][n] = code;
+                        continue;
+                    }
+                    try {
+                        columns[i][n] = converters[i].fromText(text);
+                    } catch (RuntimeException e) {
+                        throw new IllegalStateException("❌ Line " + parser.getCurrentLineNumber()
+                                                        + ": Invalid value for feature: " + names[i], e);
+                    }
+                }
+                String name = record.get(labelColumn);
+                Integer idx = classIndex.get(name);
+                if (idx == null) {
+                    throw new IllegalStateException("Unknown label '" + name + "' not in metadata.classes");
+                }
+                labels[n++] = idx;
+                if (n % 1_000_000 == 0) {
+                    log.info("📥 {} rows read", n);
+                }
+            }
+
+            for (int i = 0; i < features; i++) {
+                columns[i] = Arrays.copyOf(columns[i], n);
+            }
+            labels = Arrays.copyOf(labels, n);
+            String[][] dicts = new String[features][];
+            for (int i = 0; i < features; i++) {
+                Map<String, Integer> dict = dictionaries.get(i);
+                if (dict != null) {
+                    dicts[i] = dict.keySet().toArray(new String[0]);
+                    int declared = metadata.features.get(i).categories == null ? 0 : metadata.features.get(i).categories.size();
+                    if (dicts[i].length > declared) {
+                        log.warn("⚠️ Feature `{}` has {} categories not declared in schema.json", names[i], dicts[i].length - declared);
+                    }
+                }
+            }
+            log.info("✅ Read {} rows × {} features into primitive columns", n, features);
+            return new TrainingData(names, columns, dicts, label, classes.toArray(new String[0]), labels);
+        }
+    }
+
+    private static int headerIndex(Map<String, Integer> header, String column) {
+        Integer idx = header.get(column);
+        if (idx == null) {
+            throw new IllegalStateException("❌ Column `" + column + "` not found in CSV header " + header.keySet());
+        }
+        return idx;
+    }
+}
@@ -0,0 +1,260 @@
+package com.ifood.mlplatform.training;
+
+import lombok.extern.slf4j.Slf4j;
+
+import smile.classification.RandomForest;
+import smile.data.DataFrame;
+import smile.data.formula.Formula;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Grid search over RandomForest fit options scored by stratified k-fold
+ * cross-validation.
+ *
+ * Trials run concurrently on a {@link ForkJoinPool}; Smile's own parallel
+ * tree building runs inside the same pool, so {@code train.parallelism}
+ * bounds total CPU use. How many trials are in flight at once is bounded by
+ * memory: each trial reserves its estimated footprint (in MiB) from a budget
+ * of {@code search.memory_fraction} of the heap left after loading the data,
+ * and waits when the budget is spent. Folds are index views over one shared
+ * {@link TrainingData#frame()}, never copies.
+ *
+ * Search space keys are {@code search.<name>=a,b,c} for the Smile option
+ * {@code smile.random_forest.<name>}, e.g. {@code search.trees=100,300}.
+ */
+@Slf4j
+public final class HyperparameterSearch {
+
+    public static final String PREFIX       = "search.";
+    public static final String SMILE_PREFIX = "smile.random_forest.";
+
+    private static final List<String> RESERVED = List.of("folds", "memory_fraction", "seed");
+
+    public record Trial(Properties params, double meanAccuracy, double stdAccuracy, long millis) {
+
+        /** The searched options without the Smile prefix, e.g. {@code {trees=300, max_depth=20}}. */
+        public Map<String, String> searched() {
+            Map<String, String> out = new LinkedHashMap<>();
+            for (String key : params.stringPropertyNames()) {
+                if (key.startsWith(SMILE_PREFIX)) {
+                    out.put(key.substring(SMILE_PREFIX.length()), params.getProperty(key));
+                }
+            }
+            return out;
+        }
+    }
+
+    private final TrainingData data;
+    private final Formula      formula;
+    private final int          folds;
+    private final long         seed;
+    private final ForkJoinPool pool;
+    private final int          budgetMb;
+    private final Semaphore    budget;
+
+    public HyperparameterSearch(TrainingData data, Properties config, ForkJoinPool pool) {
+        this.data    = data;
+        this.formula = Formula.lhs(data.labelName());
+        this.folds   = Integer.parseInt(config.getProperty(PREFIX + "folds", "5"));
+        this.seed    = Long.parseLong(config.getProperty(PREFIX + "seed", "42"));
+        this.pool    = pool;
+        if (folds < 2 || folds > data.rows()) {
+            throw new IllegalStateException("❌ search.folds must be between 2 and the number of rows (" + data.rows() + "): " + folds);
+        }
+
+        double fraction = Double.parseDouble(config.getProperty(PREFIX + "memory_fraction", "0.7"));
+        Runtime rt = Runtime.getRuntime();
+        long free = rt.maxMemory() - (rt.totalMemory() - rt.freeMemory());
+        this.budgetMb = (int) Math.max(1, (long) (free * fraction) >> 20);
+        this.budget   = new Semaphore(budgetMb);
+        log.info("🧮 Search budget: {} MiB, {} folds, parallelism {}", budgetMb, folds, pool.getParallelism());
+    }
+
+    /**
+     * Cartesian product of every {@code search.*} list over the base
+     * (non-search) properties.
+     */
+    public static List<Properties> grid(Properties config) {
+        Properties base = new Properties();
+        Map<String, String[]> axes = new LinkedHashMap<>();
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith(PREFIX)) {
+                String name = key.substring(PREFIX.length());
+                if (!RESERVED.contains(name)) {
+                    axes.put(SMILE_PREFIX + name, config.getProperty(key).split("\\s*,\\s*"));
+                }
+            } else {
+                base.setProperty(key, config.getProperty(key));
+            }
+        }
+        List<Properties> grid = new ArrayList<>(List.of(base));
+        for (Map.Entry<String, String[]> axis : axes.entrySet()) {
+            List<Properties> next = new ArrayList<>(grid.size() * axis.getValue().length);
+            for (Properties p : grid) {
+                for (String value : axis.getValue()) {
+                    Properties q = new Properties();
+                    q.putAll(p);
+                    q.setProperty(axis.getKey(), value);
+                    next.add(q);
+                }
+            }
+            grid = next;
+        }
+        return grid;
+    }
+
+    public static boolean requested(Properties config) {
+        return config.stringPropertyNames().stream()
+                .anyMatch(k -> k.startsWith(PREFIX) && !RESERVED.contains(k.substring(PREFIX.length())));
+    }
+
+    /**
+     * Evaluate every candidate and return the trials, best first.
+     */
+    public List<Trial> run(List<Properties> candidates) throws InterruptedException {
+        int[][] testFolds = stratifiedFolds(data.labels(), folds, seed);
+        List<CompletableFuture<Trial>> running = new ArrayList<>(candidates.size());
+        for (Properties params : candidates) {
+            int mb = Math.min(budgetMb, estimateMb(params));
+            budget.acquire(mb);
+            running.add(CompletableFuture
+                .supplyAsync(() -> evaluate(params, testFolds), pool)
+                .whenComplete((t, e) -> budget.release(mb)));
+        }
+        List<Trial> trials = new ArrayList<>(running.size());
+        for (CompletableFuture<Trial> f : running) {
+            trials.add(f.join());
+        }
+        trials.sort((a, b) -> Double.compare(b.meanAccuracy(), a.meanAccuracy()));
+        return trials;
+    }
+
+    private Trial evaluate(Properties params, int[][] testFolds) {
+        long start = System.currentTimeMillis();
+        DataFrame frame  = data.frame();
+        int[]     labels = data.labels();
+        double[]  acc    = new double[testFolds.length];
+        for (int k = 0; k < testFolds.length; k++) {
+            int[] test = testFolds[k];
+            RandomForest rf = RandomForest.fit(formula, frame.of(trainIndex(k, testFolds)), params);
+            int[] predicted = rf.predict(frame.of(test));
+            int correct = 0;
+            for (int i = 0; i < test.length; i++) {
+                if (predicted[i] == labels[test[i]]) {
+                    correct++;
+                }
+            }
+            acc[k] = (double) correct / test.length;
+        }
+        double mean = 0;
+        for (double a : acc) {
+            mean += a;
+        }
+        mean /= acc.length;
+        double var = 0;
+        for (double a : acc) {
+            var += (a - mean) * (a - mean);
+        }
+        Trial trial = new Trial(params, mean, Math.sqrt(var / acc.length), System.currentTimeMillis() - start);
+        log.info("🧪 {} → accuracy {} ± {} ({} ms)", trial.searched(),
+                 String.format("%.4f", mean), String.format("%.4f", trial.stdAccuracy()), trial.millis());
+        return trial;
+    }
+
+    /**
+     * Row indexes split into k test folds, stratified by label: each
+     * class's rows are shuffled and dealt round-robin, carrying on from the
+     * fold where the previous class stopped. Every fold gets its share of
+     * every class that has at least k rows, and fold sizes differ by at
+     * most one.
+     */
+    static int[][] stratifiedFolds(int[] labels, int k, long seed) {
+        int classes = 0;
+        for (int label : labels) {
+            classes = Math.max(classes, label + 1);
+        }
+        int[][] byClass = new int[classes][];
+        int[]   count   = new int[classes];
+        for (int label : labels) {
+            count[label]++;
+        }
+        for (int c = 0; c < classes; c++) {
+            byClass[c] = new int[count[c]];
+            count[c]   = 0;
+        }
+        for (int i = 0; i < labels.length; i++) {
+            byClass[labels[i]][count[labels[i]]++] = i;
+        }
+
+        int n = labels.length;
+        int[][] out  = new int[k][];
+        int[]   fill = new int[k];
+        for (int f = 0; f < k; f++) {
+            out[f] = new int[n / k + (f < n % k ? 1 : 0)];
+        }
+        Random rnd = new Random(seed);
+        int dealt = 0;
+        for (int[] rows : byClass) {
+            for (int i = rows.length - 1; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int t = rows[i];
+                rows[i] = rows[j];
+                rows[j] = t;
+            }
+            for (int row : rows) {
+                int f = dealt++ % k;
+                out[f][fill[f]++] = row;
+            }
+        }
+        for (int[] fold : out) {
+            Arrays.sort(fold);
+        }
+        return out;
+    }
+
+    private static int[] trainIndex(int k, int[][] testFolds) {
+        int size = 0;
+        for (int j = 0; j < testFolds.length; j++) {
+            if (j != k) {
+                size += testFolds[j].length;
+            }
+        }
+        int[] idx = new int[size];
+        int pos = 0;
+        for (int j = 0; j < testFolds.length; j++) {
+            if (j != k) {
+                System.arraycopy(testFolds[j], 0, idx, pos, testFolds[j].length);
+                pos += testFolds[j].length;
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * Rough heap a trial needs while fitting: Smile's per-fit sort order
+     * ({@code int} per cell), a bootstrap sample per tree being built, and
+     * the trees themselves at ~100 bytes per node.
+     */
+    int estimateMb(Properties params) {
+        long n        = data.rows();
+        long p        = data.featureCount();
+        long trees    = Long.parseLong(params.getProperty(SMILE_PREFIX + "trees", "500"));
+        long nodeSize = Math.max(1, Long.parseLong(params.getProperty(SMILE_PREFIX + "node_size", "5")));
+        long maxNodes = Long.parseLong(params.getProperty(SMILE_PREFIX + "max_nodes", String.valueOf(Math.max(2, n / 5))));
+        long nodes    = Math.min(maxNodes, 2 * n / nodeSize + 1);
+        long bytes    = 4 * n * p
+                      + 8 * n * pool.getParallelism()
+                      + trees * nodes * 100;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes >> 20));
+    }
+}
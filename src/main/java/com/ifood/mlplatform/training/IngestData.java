@@ -0,0 +1,44 @@
+package com.ifood.mlplatform.training;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * One-off conversion of a CSV + schema.json into a {@code *.cols} file that
+ * {@link TrainModel} loads without parsing:
+ *
+ * <pre>
+ * java -cp trainer.jar com.ifood.mlplatform.training.IngestData data.csv schema.json data.cols
+ * </pre>
+ */
+@Slf4j
+public class IngestData {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            log.info("Usage: java -cp mini-ml-platform.jar com.ifood.mlplatform.training.IngestData <path-to-csv> <path-to-schema.json> <output.cols>");
+            System.exit(1);
+        }
+        Path csvFile    = Path.of(args[0]);
+        Path schemaPath = Path.of(args[1]);
+        Path output     = Path.of(args[2]);
+
+        if (!Files.exists(csvFile)) {
+            throw new IllegalStateException("❌ CSV file not found: " + csvFile);
+        }
+        if (!ColumnarFormat.isColumnar(output)) {
+            throw new IllegalStateException("❌ Output must end with " + ColumnarFormat.EXTENSION + ": " + output);
+        }
+
+        ModelMetadata metadata = new ObjectMapper().readValue(Files.newInputStream(schemaPath), ModelMetadata.class);
+        long start = System.currentTimeMillis();
+        TrainingData data = CsvColumnReader.read(csvFile, metadata);
+        ColumnarFormat.write(data, output);
+        log.info("🎉 Ingested {} rows in {} ms", data.rows(), System.currentTimeMillis() - start);
+    }
+}
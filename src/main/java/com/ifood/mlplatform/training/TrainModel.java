@@ -1,42 +1,55 @@
 package com.ifood.mlplatform.training;
 
-import smile.data.DataFrame;
 import smile.data.formula.Formula;
-import smile.data.vector.IntVector;
 import smile.classification.RandomForest;
-import smile.io.Read;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Arrays;
-
-import org.apache.commons.csv.CSVFormat;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.ModelKey;
+import com.ifood.mlplatform.model.forest.FlatForest;
+import com.ifood.mlplatform.model.forest.ForestFlattener;
+import com.ifood.mlplatform.model.forest.ForestFormat;
 import com.ifood.mlplatform.model.metadata.ModelMetadata;
 
+import io.minio.ListObjectsArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
+import io.minio.Result;
+import io.minio.errors.ErrorResponseException;
+import io.minio.messages.Item;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TrainModel {
 
+    /** Empty object that reserves {@code modelId/v{n}/} for one trainer. */
+    private static final String CLAIM              = ".claim";
+    private static final int    MAX_CLAIM_ATTEMPTS = 10;
+
     public static void main(String[] args) throws Exception {
         if (args.length < 3) {
-            log.info("Usage: java -jar mini-ml-platform.jar <path-to-csv> <path-to-schema.json> <model-id>");
+            log.info("Usage: java -jar mini-ml-platform.jar <path-to-csv|data.cols> <path-to-schema.json> <model-id> [train.properties]");
             System.exit(1);
         }
 
         String csvPath =       args[0];
         String schemaPathStr = args[1];
-        String modelId =       args[2]; 
+        String modelId =       args[2];
         Path csvFile = Path.of(csvPath);
         Path schemaPath = Path.of(schemaPathStr);
 
@@ -47,53 +60,64 @@ public class TrainModel {
             throw new IllegalStateException("❌ Schema file not found: " + schemaPath);
         }
 
-        log.info("📥 Reading CSV from: {}", csvFile);
-        CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
-                .setHeader()
-                .setSkipHeaderRecord(false)
-                .build();
-
-        DataFrame data = Read.csv(csvPath, csvFormat);
-
-        log.info("🧾 Columns found: {}", Arrays.toString(data.names()));
+        // Opções de treino: chaves smile.random_forest.*, train.* e search.*
+        Properties config = new Properties();
+        if (args.length > 3 && !args[3].isBlank()) {
+            try (InputStream in = Files.newInputStream(Path.of(args[3]))) {
+                config.load(in);
+            }
+            log.info("⚙️ Training options from {}: {}", args[3], config);
+        }
 
         ModelMetadata metadata = new ObjectMapper().readValue(Files.newInputStream(schemaPath), ModelMetadata.class);
-        String labelColumn = metadata.label.name;
 
-        String[] classes = metadata.label.classes.toArray(new String[0]);
+        TrainingData data;
+        if (ColumnarFormat.isColumnar(csvFile)) {
+            log.info("⚡ Mapping ingested columns from: {}", csvFile);
+            data = ColumnarFormat.read(csvFile, metadata);
+        } else {
+            log.info("📥 Streaming CSV from: {}", csvFile);
+            data = CsvColumnReader.read(csvFile, metadata);
+        }
+        log.info("✅ Label mapping follows metadata order: {}", metadata.label.classes);
+        // the uploaded schema carries the codes the model was fitted on
+        for (int i = 0; i < data.featureCount(); i++) {
+            if (data.dictionary(i) != null) {
+                metadata.features.get(i).categories = List.of(data.dictionary(i));
+            }
+        }
 
-        String[] labelValues = data.stringVector(labelColumn).toArray();
-        Map<String,Integer> classToIndex = new LinkedHashMap<>();
-        for (int i = 0; i < classes.length; i++) {
-            classToIndex.put(classes[i], i);
+        int parallelism = Integer.parseInt(config.getProperty("train.parallelism",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+
+        Properties params = config;
+        if (HyperparameterSearch.requested(config)) {
+            List<Properties> grid = HyperparameterSearch.grid(config);
+            log.info("🔎 Searching {} candidates with cross-validation...", grid.size());
+            List<HyperparameterSearch.Trial> trials = new HyperparameterSearch(data, config, pool).run(grid);
+            HyperparameterSearch.Trial best = trials.get(0);
+            log.info("🏆 Best: {} (accuracy {})", best.searched(), best.meanAccuracy());
+            params = best.params();
+            metadata.training = trainingReport(config, trials);
         }
 
-        log.info("✅ Label mapping will follow metadata order: {}", classToIndex);
-
-        int[] labelIndexes = Arrays.stream(labelValues)
-                .mapToInt(name -> {
-                    Integer idx = classToIndex.get(name);
-                    if (idx == null) {
-                        throw new IllegalStateException("Unknown label '"+ name +"' not in metadata.classes");
-                    }
-                    return idx;
-                })
-                .toArray();
-
-        // replace label column (drop + merge IntVector)
-        data = data.drop(labelColumn).merge(IntVector.of(labelColumn, labelIndexes));
-        log.info("✅ Label mapping applied: {}", classToIndex);
-
-        Formula formula = Formula.lhs(labelColumn);
-        log.info("🧠 Training RandomForest model...");
-        RandomForest model = RandomForest.fit(formula, data);
+        Formula formula = Formula.lhs(data.labelName());
+        Properties fitParams = params;
+        log.info("🧠 Training RandomForest model on {} threads...", parallelism);
+        // Smile builds trees with a parallel stream; inside this pool it uses these threads
+        RandomForest model = pool.submit(() -> RandomForest.fit(formula, data.frame(), fitParams)).get();
         log.info("✅ Training complete.");
+        pool.shutdown();
 
-        // Serializar modelo
-        ByteArrayOutputStream modelBytes = new ByteArrayOutputStream();
-        try (ObjectOutputStream oos = new ObjectOutputStream(modelBytes)) {
-            oos.writeObject(model);
-        }
+        FlatForest flat = ForestFlattener.flatten(model, FeaturePlan.compile(metadata));
+        log.info("🌲 Flattened {} trees / {} nodes into {}", flat.numTrees(), flat.numNodes(), ForestFormat.ARTIFACT);
+
+        metadata.format = ModelMetadata.FORMAT_FOREST;
+        byte[] schemaBytes = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerWithDefaultPrettyPrinter()
+                .writeValueAsBytes(metadata);
 
         String bucketName = System.getenv().getOrDefault("BUCKET_NAME", "model");
         String endpoint = System.getenv().getOrDefault("MINIO_ENDPOINT", "http://localhost:9000");
@@ -105,31 +129,109 @@ public class TrainModel {
                 .endpoint(endpoint)
                 .credentials(accessKey, secretKey)
                 .build();
+        ArtifactUploader uploader = new ArtifactUploader(minioClient, bucketName);
 
-        log.info("☁️ Uploading artifacts to bucket: {}/{}", bucketName, modelId);                
+        // Nova versão em modelId/v{n}/; o ponteiro `current` só muda no final
+        String version = claimVersion(minioClient, bucketName, modelId);
+        String prefix = modelId + "/" + version + "/";
+
+        log.info("☁️ Uploading artifacts to bucket: {}/{}", bucketName, prefix);
+
+        // Serialize the model straight into a multipart upload
+        uploader.stream(prefix + "model.bin", "application/octet-stream", out -> {
+            ObjectOutputStream oos = new ObjectOutputStream(out);
+            oos.writeObject(model);
+            oos.flush();
+        });
+
+        // Upload flat forest
+        uploader.stream(prefix + ForestFormat.ARTIFACT, "application/octet-stream",
+                        out -> ForestFormat.write(flat, out));
+
+        // Upload schema (after the artifacts, so it never points at a missing one)
+        uploader.put(prefix + "schema.json", "application/json", schemaBytes);
+
+        // Publish: move `current` to the new version; servers pick it up on refresh
+        uploader.put(modelId + "/" + ModelKey.CURRENT, "text/plain", version.getBytes(StandardCharsets.UTF_8));
+        log.info("🚀 `{}` now points at {}", modelId, version);
 
-        // Upload model
-        minioClient.putObject(
-            PutObjectArgs.builder()
-                .bucket(bucketName)
-                .object(modelId + "/model.bin")
-                .stream(new ByteArrayInputStream(modelBytes.toByteArray()), modelBytes.size(), -1)
-                .contentType("application/octet-stream")
-                .build()
-        );
-
-        // Upload schema
-        minioClient.putObject(
-            PutObjectArgs.builder()
-                .bucket(bucketName)
-                .object(modelId + "/schema.json")
-                .stream(Files.newInputStream(schemaPath), Files.size(schemaPath), -1)
-                .contentType("application/json")
-                .build()
-        );
-       
         log.info("🎉 Training and upload process completed successfully.");
         System.exit(0);
     }
 
+    /**
+     * Search summary stored under {@code training} in schema.json:
+     * winning options, its cross-validated accuracy and every trial.
+     */
+    private static Map<String, Object> trainingReport(Properties config, List<HyperparameterSearch.Trial> trials) {
+        HyperparameterSearch.Trial best = trials.get(0);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("hyperparameters", best.searched());
+        report.put("cv_folds", Integer.parseInt(config.getProperty(HyperparameterSearch.PREFIX + "folds", "5")));
+        report.put("cv_accuracy", best.meanAccuracy());
+        report.put("cv_accuracy_std", best.stdAccuracy());
+        List<Map<String, Object>> all = new ArrayList<>(trials.size());
+        for (HyperparameterSearch.Trial t : trials) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("hyperparameters", t.searched());
+            row.put("cv_accuracy", t.meanAccuracy());
+            row.put("cv_accuracy_std", t.stdAccuracy());
+            row.put("millis", t.millis());
+            all.add(row);
+        }
+        report.put("trials", all);
+        return report;
+    }
+
+    /**
+     * Reserves the next free {@code v{n}} by creating its claim marker with
+     * {@code If-None-Match: *}, so two trainers racing on the same model can
+     * never both write into one version: the loser gets 412 and tries the
+     * next number.
+     */
+    private static String claimVersion(MinioClient minioClient, String bucketName, String modelId) throws Exception {
+        int next = latestVersion(minioClient, bucketName, modelId) + 1;
+        for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++, next++) {
+            String version = "v" + next;
+            try {
+                minioClient.putObject(PutObjectArgs.builder()
+                        .bucket(bucketName)
+                        .object(modelId + "/" + version + "/" + CLAIM)
+                        .stream(new ByteArrayInputStream(new byte[0]), 0, -1)
+                        .headers(Map.of("If-None-Match", "*"))
+                        .build());
+                return version;
+            } catch (ErrorResponseException e) {
+                if (!"PreconditionFailed".equals(e.errorResponse().code())) {
+                    throw e;
+                }
+                log.info("⏭️ {} already claimed by another trainer, trying the next version", version);
+            }
+        }
+        throw new IllegalStateException("❌ Could not claim a version for " + modelId
+                                        + " after " + MAX_CLAIM_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * Highest {@code v{n}} already stored under the model, 0 if none.
+     */
+    private static int latestVersion(MinioClient minioClient, String bucketName, String modelId) throws Exception {
+        int latest = 0;
+        for (Result<Item> result : minioClient.listObjects(ListObjectsArgs.builder()
+                .bucket(bucketName)
+                .prefix(modelId + "/v")
+                .recursive(false)
+                .build())) {
+            Item item = result.get();
+            if (!item.isDir()) {
+                continue;
+            }
+            String name = item.objectName().substring(modelId.length() + 2).replace("/", "");
+            if (name.matches("\\d+")) {
+                latest = Math.max(latest, Integer.parseInt(name));
+            }
+        }
+        return latest;
+    }
+
 }
@@ -0,0 +1,108 @@
+package com.ifood.mlplatform.training;
+
+import smile.data.DataFrame;
+import smile.data.measure.NominalScale;
+import smile.data.type.DataTypes;
+import smile.data.type.StructField;
+import smile.data.vector.BaseVector;
+import smile.data.vector.DoubleVector;
+import smile.data.vector.IntVector;
+
+/**
+ * A training set held as primitive columns: one {@code double[]} per
+ * feature in schema order plus the label as class indexes. Categorical
+ * features hold dictionary codes, with their dictionary alongside, and
+ * become nominal columns in the frame.
+ *
+ * The Smile {@link DataFrame} over it is built once and wraps the arrays
+ * without copying; cross-validation folds are index views over that frame,
+ * so every trial shares the same column memory.
+ */
+public final class TrainingData {
+
+    private final String[]   names;
+    private final double[][] columns;
+    private final String[][] dictionaries;
+    private final String     labelName;
+    private final String[]   classes;
+    private final int[]      labels;
+    private DataFrame        frame;
+
+    /**
+     * @param dictionaries per feature, the category of each code; null for numeric features
+     */
+    public TrainingData(String[] names, double[][] columns, String[][] dictionaries,
+                        String labelName, String[] classes, int[] labels) {
+        this.names        = names;
+        this.columns      = columns;
+        this.dictionaries = dictionaries;
+        this.labelName    = labelName;
+        this.classes      = classes;
+        this.labels       = labels;
+    }
+
+    public int rows() {
+        return labels.length;
+    }
+
+    public int featureCount() {
+        return names.length;
+    }
+
+    public String name(int feature) {
+        return names[feature];
+    }
+
+    public double[] column(int feature) {
+        return columns[feature];
+    }
+
+    /** Category of each code of a categorical feature, or null when numeric. */
+    public String[] dictionary(int feature) {
+        return dictionaries[feature];
+    }
+
+    public String labelName() {
+        return labelName;
+    }
+
+    public String[] classes() {
+        return classes;
+    }
+
+    public int[] labels() {
+        return labels;
+    }
+
+    /** Approximate heap held by the columns, for memory budgeting. */
+    public long bytes() {
+        return (long) rows() * (8L * names.length + 4);
+    }
+
+    /** Features in schema order followed by the label column. */
+    public synchronized DataFrame frame() {
+        if (frame == null) {
+            BaseVector<?, ?, ?>[] vectors = new BaseVector<?, ?, ?>[names.length + 1];
+            for (int i = 0; i < names.length; i++) {
+                vectors[i] = dictionaries[i] == null
+                           ? DoubleVector.of(names[i], columns[i])
+                           : nominal(names[i], columns[i], dictionaries[i]);
+            }
+            vectors[names.length] = IntVector.of(labelName, labels);
+            frame = DataFrame.of(vectors);
+        }
+        return frame;
+    }
+
+    /**
+     * Codes as an int column on a {@link NominalScale}, so trees split it by
+     * equality instead of treating codes as ordered values.
+     */
+    private static IntVector nominal(String name, double[] column, String[] dictionary) {
+        int[] codes = new int[column.length];
+        for (int r = 0; r < codes.length; r++) {
+            codes[r] = (int) column[r];
+        }
+        return IntVector.of(new StructField(name, DataTypes.IntegerType, new NominalScale(dictionary)), codes);
+    }
+}
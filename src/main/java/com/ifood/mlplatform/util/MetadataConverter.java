@@ -1,6 +1,7 @@
 package com.ifood.mlplatform.util;
 
 import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import smile.data.measure.NominalScale;
 import smile.data.type.DataType;
 import smile.data.type.DataTypes;
 import smile.data.type.StructField;
@@ -18,8 +19,7 @@ public class MetadataConverter {
             if (feature.name.equals(labelName)) {
                 continue;  
             }
-            DataType type = mapType(feature.type);
-            fields.add(new StructField(feature.name, type));
+            fields.add(toField(feature));
         }
 
         return new StructType(fields);
@@ -29,7 +29,7 @@ public class MetadataConverter {
         List<StructField> fields = new ArrayList<>();
         // all features
         for (ModelMetadata.Feature f : metadata.features) {
-            fields.add(new StructField(f.name, mapType(f.type)));
+            fields.add(toField(f));
         }
         // add label at final
         fields.add(new StructField(metadata.label.name,
@@ -37,6 +37,25 @@ public class MetadataConverter {
         return new StructType(fields);
     }
 
+    /**
+     * Categorical features are integer codes on a {@link NominalScale} built
+     * from {@code categories}, the same encoding the trainer fits on.
+     */
+    public static StructField toField(ModelMetadata.Feature feature) {
+        if (isCategorical(feature)) {
+            if (feature.categories == null || feature.categories.isEmpty()) {
+                throw new IllegalArgumentException("Categorical feature without categories: " + feature.name);
+            }
+            return new StructField(feature.name, DataTypes.IntegerType,
+                                   new NominalScale(feature.categories.toArray(new String[0])));
+        }
+        return new StructField(feature.name, mapType(feature.type));
+    }
+
+    public static boolean isCategorical(ModelMetadata.Feature feature) {
+        return "categorical".equalsIgnoreCase(feature.type);
+    }
+
     private static DataType mapType(String type) {
         return switch (type.toLowerCase()) {
             case "double"  -> DataTypes.DoubleType;
@@ -46,4 +65,4 @@ public class MetadataConverter {
             default -> throw new IllegalArgumentException("Unsupported type: " + type);
         };
     }
-}
\ No newline at end of file
+}
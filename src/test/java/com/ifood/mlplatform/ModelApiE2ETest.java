@@ -4,7 +4,12 @@ import io.restassured.RestAssured;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
 import static io.restassured.RestAssured.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.hamcrest.Matchers.*;
 
 public class ModelApiE2ETest {
@@ -159,4 +164,179 @@ public class ModelApiE2ETest {
             .statusCode(200)
             .body("prediction", equalTo("setosa"));
     }
+
+    @Test
+    void testSuccessfulBatchPrediction() {
+        given()
+            .contentType("application/json")
+            .body("""
+                {
+                  "instances": [
+                    { "sepal_length": 5.1, "sepal_width": 3.5, "petal_length": 1.4, "petal_width": 0.2 },
+                    { "sepal_length": 6.7, "sepal_width": 3.0, "petal_length": 5.2, "petal_width": 2.3 }
+                  ]
+                }
+                """)
+        .when()
+            .post("/predict/{modelId}/batch", MODEL_ID)
+        .then()
+            .statusCode(200)
+            .body("predictions", contains("setosa", "virginica"));
+    }
+
+    @Test
+    void testBatchMissingFeatureInOneRow() {
+        given()
+            .contentType("application/json")
+            .body("""
+                {
+                  "instances": [
+                    { "sepal_length": 5.1, "sepal_width": 3.5, "petal_length": 1.4, "petal_width": 0.2 },
+                    { "sepal_length": 6.7, "sepal_width": 3.0, "petal_width": 2.3 }
+                  ]
+                }
+                """)
+        .when()
+            .post("/predict/{modelId}/batch", MODEL_ID)
+        .then()
+            .statusCode(400)
+            .body("message", containsString("Missing feature: petal_length"));
+    }
+
+    @Test
+    void testEmptyBatch() {
+        given()
+            .contentType("application/json")
+            .body("""
+                { "instances": [] }
+                """)
+        .when()
+            .post("/predict/{modelId}/batch", MODEL_ID)
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    void testTopKProbabilities() {
+        given()
+            .contentType("application/json")
+            .queryParam("top_k", 2)
+            .body("""
+                {
+                  "features": {
+                    "sepal_length": 5.1,
+                    "sepal_width": 3.5,
+                    "petal_length": 1.4,
+                    "petal_width": 0.2
+                  }
+                }
+                """)
+        .when()
+            .post("/predict/{modelId}", MODEL_ID)
+        .then()
+            .statusCode(200)
+            .body("prediction", equalTo("setosa"))
+            .body("scores", hasSize(2))
+            .body("scores[0].label", equalTo("setosa"))
+            .body("scores[0].probability", greaterThan(0.5f));
+    }
+
+    @Test
+    void testBinaryBatchPrediction() {
+        ByteBuffer body = ByteBuffer.allocate(8 + 2 * 4 * 8).order(ByteOrder.LITTLE_ENDIAN);
+        body.putInt(2).putInt(4)
+            .putDouble(5.1).putDouble(3.5).putDouble(1.4).putDouble(0.2)
+            .putDouble(6.7).putDouble(3.0).putDouble(5.2).putDouble(2.3);
+
+        byte[] out = given()
+            .contentType("application/x-ml-rows")
+            .body(body.array())
+        .when()
+            .post("/predict/{modelId}/batch", MODEL_ID)
+        .then()
+            .statusCode(200)
+            .contentType("application/x-ml-rows")
+            .extract().asByteArray();
+
+        ByteBuffer in = ByteBuffer.wrap(out).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(2, in.getInt());
+        assertEquals("setosa", readLabel(in));
+        assertEquals("virginica", readLabel(in));
+    }
+
+    private static String readLabel(ByteBuffer in) {
+        assertEquals(1, in.get());
+        byte[] label = new byte[in.getInt()];
+        in.get(label);
+        return new String(label, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testSpentDeadlineIsRejected() {
+        testSuccessfulPrediction();   // model loaded and a slot free: only the deadline can reject
+        given()
+            .contentType("application/json")
+            .header("X-Deadline-Ms", "0")
+            .body("""
+                {
+                  "features": {
+                    "sepal_length": 5.1,
+                    "sepal_width": 3.5,
+                    "petal_length": 1.4,
+                    "petal_width": 0.2
+                  }
+                }
+                """)
+        .when()
+            .post("/predict/{modelId}", MODEL_ID)
+        .then()
+            .statusCode(503)
+            .header("Retry-After", "1")
+            .body("message", containsString("Deadline exceeded"));
+    }
+
+    @Test
+    void testMalformedDeadlineHeader() {
+        given()
+            .contentType("application/json")
+            .header("X-Deadline-Ms", "soon")
+            .body("{ \"features\": {} }")
+        .when()
+            .post("/predict/{modelId}", MODEL_ID)
+        .then()
+            .statusCode(400)
+            .body("message", containsString("Invalid X-Deadline-Ms"));
+    }
+
+    @Test
+    void testPrometheusExposesModelTimers() {
+        testSuccessfulPrediction();
+        when()
+            .get("/actuator/prometheus")
+        .then()
+            .statusCode(200)
+            .body(containsString("model_predict_seconds_bucket"))
+            .body(containsString("cache=\"models\""));
+    }
+
+    @Test
+    void testUnknownPinnedVersion() {
+        given()
+            .contentType("application/json")
+            .body("""
+                {
+                  "features": {
+                    "sepal_length": 5.1,
+                    "sepal_width": 3.5,
+                    "petal_length": 1.4,
+                    "petal_width": 0.2
+                  }
+                }
+                """)
+        .when()
+            .post("/predict/{modelId}", MODEL_ID + "@v999")
+        .then()
+            .statusCode(404)
+            .body("message", equalTo("Model not found: " + MODEL_ID + "@v999"));
+    }
 }
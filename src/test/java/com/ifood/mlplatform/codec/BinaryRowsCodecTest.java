@@ -0,0 +1,124 @@
+package com.ifood.mlplatform.codec;
+
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Decoding and validation of {@code application/x-ml-rows} bodies.
+ */
+public class BinaryRowsCodecTest {
+
+    private final FeaturePlan plan = FeaturePlan.compile(metadata());
+
+    @Test
+    void decodesRowsInSchemaOrder() throws IOException {
+        double[][] rows = decode(body(2, 3, 1.5, 1, 0, -2.25, 0, 1));
+
+        assertEquals(2, rows.length);
+        assertArrayEquals(new double[] { 1.5, 1, 0, 0 }, rows[0]);
+        assertArrayEquals(new double[] { -2.25, 0, 1, 0 }, rows[1]);
+    }
+
+    @Test
+    void acceptsTheOtherCodeUnderTheOtherPolicy() throws IOException {
+        assertEquals(2, decode(body(1, 3, 0, 0, 2))[0][2]);
+    }
+
+    @Test
+    void rejectsNonFiniteNumbers() {
+        assertInvalid("amount", body(1, 3, Double.NaN, 0, 0));
+        assertInvalid("amount", body(1, 3, Double.POSITIVE_INFINITY, 0, 0));
+        assertInvalid("amount", body(1, 3, Double.NEGATIVE_INFINITY, 0, 0));
+    }
+
+    @Test
+    void rejectsInvalidCodes() {
+        assertInvalid("city", body(1, 3, 0, 0, 0.5));
+        assertInvalid("city", body(1, 3, 0, 0, -1));
+        assertInvalid("city", body(1, 3, 0, 0, 3));
+        assertInvalid("city", body(1, 3, 0, 0, Double.NaN));
+        assertInvalid("express", body(1, 3, 0, 2, 0));
+    }
+
+    @Test
+    void rejectsMalformedBodies() {
+        assertRejected("Instances list cannot be empty", body(0, 3));
+        assertRejected("Expected 3 features per row, got 2", body(1, 2, 0, 0));
+        assertRejected("Truncated body: expected 2 rows, got 1", body(2, 3, 0, 0, 0));
+        assertRejected("Trailing bytes after 1 rows", body(1, 3, 0, 0, 0, 0));
+        assertRejected("Truncated body: incomplete header", new byte[] { 1, 0, 0 });
+    }
+
+    @Test
+    void encodesNumbersAndLabels() {
+        ByteBuffer out = ByteBuffer.wrap(BinaryRowsCodec.encode(List.of(0.25, "setosa")))
+                                   .order(ByteOrder.LITTLE_ENDIAN);
+
+        assertEquals(2, out.getInt());
+        assertEquals(BinaryRowsCodec.KIND_NUMBER, out.get());
+        assertEquals(0.25, out.getDouble());
+        assertEquals(BinaryRowsCodec.KIND_TEXT, out.get());
+        byte[] label = new byte[out.getInt()];
+        out.get(label);
+        assertEquals("setosa", new String(label, StandardCharsets.UTF_8));
+        assertEquals(0, out.remaining());
+    }
+
+    private double[][] decode(byte[] body) throws IOException {
+        return BinaryRowsCodec.decode(new ByteArrayInputStream(body), plan).rows();
+    }
+
+    private void assertInvalid(String feature, byte[] body) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> decode(body));
+        assertEquals("Invalid value for feature: " + feature, e.getMessage());
+    }
+
+    private void assertRejected(String message, byte[] body) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> decode(body));
+        assertTrue(e.getMessage().startsWith(message), e.getMessage());
+    }
+
+    private static byte[] body(int rows, int features, double... values) {
+        ByteBuffer buf = ByteBuffer.allocate(2 * Integer.BYTES + values.length * Double.BYTES)
+                                   .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(rows).putInt(features);
+        for (double v : values) {
+            buf.putDouble(v);
+        }
+        return buf.array();
+    }
+
+    private static ModelMetadata metadata() {
+        ModelMetadata md = new ModelMetadata();
+        md.features = List.of(feature("amount", "double", null, null),
+                              feature("express", "boolean", null, null),
+                              feature("city", "categorical", List.of("sp", "rj"), "other"));
+        md.label = new ModelMetadata.Label();
+        md.label.name    = "late";
+        md.label.classes = List.of("no", "yes");
+        return md;
+    }
+
+    private static ModelMetadata.Feature feature(String name, String type, List<String> categories, String unknown) {
+        ModelMetadata.Feature f = new ModelMetadata.Feature();
+        f.name       = name;
+        f.type       = type;
+        f.categories = categories;
+        f.unknown    = unknown;
+        return f;
+    }
+}
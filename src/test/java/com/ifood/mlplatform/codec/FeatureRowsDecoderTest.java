@@ -0,0 +1,123 @@
+package com.ifood.mlplatform.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.dto.BoundFeatures;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Body shapes, binding and rejections of {@link FeatureRowsDecoder}.
+ */
+public class FeatureRowsDecoderTest {
+
+    private final FeatureRowsDecoder decoder = new FeatureRowsDecoder(new JsonFactory());
+    private final FeaturePlan        plan    = FeaturePlan.compile(metadata());
+
+    @Test
+    void bindsOneRowInSchemaOrder() throws IOException {
+        BoundFeatures bound = decode("""
+            { "features": { "city": "rj", "express": true, "amount": 12.5, "note": { "ignored": [1] } } }
+            """);
+
+        assertEquals(BoundFeatures.Shape.SINGLE, bound.shape());
+        assertArrayEquals(new double[] { 12.5, 1, 1, 0 }, bound.single());
+    }
+
+    @Test
+    void bindsManyRows() throws IOException {
+        BoundFeatures bound = decode("""
+            { "id": "req-1",
+              "instances": [ { "amount": 1, "express": false, "city": "sp" },
+                             { "amount": "2.5", "express": "true", "city": "bh" } ] }
+            """);
+
+        assertEquals(BoundFeatures.Shape.BATCH, bound.shape());
+        assertArrayEquals(new double[] { 1, 0, 0, 0 }, bound.batch()[0]);
+        assertArrayEquals(new double[] { 2.5, 1, 2, 0 }, bound.batch()[1]);
+    }
+
+    @Test
+    void eachEndpointRefusesTheOtherShape() throws IOException {
+        BoundFeatures single = decode("{ \"features\": { \"amount\": 1, \"express\": true, \"city\": \"sp\" } }");
+        BoundFeatures batch  = decode("{ \"instances\": [ { \"amount\": 1, \"express\": true, \"city\": \"sp\" } ] }");
+
+        assertThrows(IllegalArgumentException.class, single::batch);
+        assertThrows(IllegalArgumentException.class, batch::single);
+    }
+
+    @Test
+    void rejectsAmbiguousOrEmptyBodies() {
+        assertRejected("Send either `features` or `instances`, not both", """
+            { "features": { "amount": 1, "express": true, "city": "sp" },
+              "instances": [ { "amount": 1, "express": true, "city": "sp" } ] }
+            """);
+        assertRejected("Features map must be provided", "{ \"feature\": {} }");
+        assertRejected("Features map must be provided", "{ \"features\": [1, 2, 3] }");
+        assertRejected("Instances list cannot be empty", "{ \"instances\": [] }");
+        assertRejected("Each instance must be a JSON object", "{ \"instances\": [ [1, 0, 0] ] }");
+        assertRejected("Request body must be a JSON object", "[ { \"amount\": 1 } ]");
+    }
+
+    @Test
+    void rejectsTrailingContent() {
+        String row = "{ \"features\": { \"amount\": 1, \"express\": true, \"city\": \"sp\" } }";
+
+        assertRejected("Unexpected content after the JSON body", row + " {}");
+        assertRejected("Unexpected content after the JSON body", row + " 42");
+        assertThrows(JsonProcessingException.class, () -> decode(row + " }"));
+    }
+
+    @Test
+    void reportsMissingAndInvalidFeatures() {
+        assertRejected("Missing feature: express",
+                       "{ \"features\": { \"amount\": 1, \"express\": null, \"city\": \"sp\" } }");
+        assertRejected("Invalid value for feature: city",
+                       "{ \"features\": { \"amount\": 1, \"express\": true, \"city\": \"recife\" } }");
+        assertRejected("Invalid value for feature: amount",
+                       "{ \"features\": { \"amount\": [1], \"express\": true, \"city\": \"sp\" } }");
+        assertRejected("Invalid value for feature: amount",
+                       "{ \"features\": { \"amount\": true, \"express\": true, \"city\": \"sp\" } }");
+    }
+
+    @Test
+    void surfacesMalformedJson() {
+        assertThrows(JsonProcessingException.class, () -> decode("{ \"features\": { \"amount\": 1, "));
+    }
+
+    private BoundFeatures decode(String json) throws IOException {
+        return decoder.decode(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), plan);
+    }
+
+    private void assertRejected(String message, String json) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> decode(json));
+        assertEquals(message, e.getMessage());
+    }
+
+    private static ModelMetadata metadata() {
+        ModelMetadata md = new ModelMetadata();
+        md.features = List.of(feature("amount", "double", null),
+                              feature("express", "boolean", null),
+                              feature("city", "categorical", List.of("sp", "rj", "bh")));
+        return md;
+    }
+
+    private static ModelMetadata.Feature feature(String name, String type, List<String> categories) {
+        ModelMetadata.Feature f = new ModelMetadata.Feature();
+        f.name       = name;
+        f.type       = type;
+        f.categories = categories;
+        return f;
+    }
+}
@@ -0,0 +1,223 @@
+package com.ifood.mlplatform.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.exception.ModelNotFoundException;
+import com.ifood.mlplatform.grpc.v1.PredictRequest;
+import com.ifood.mlplatform.grpc.v1.PredictResponse;
+import com.ifood.mlplatform.grpc.v1.PredictionServiceGrpc;
+import com.ifood.mlplatform.grpc.v1.Row;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import com.ifood.mlplatform.service.ModelMetrics;
+import com.ifood.mlplatform.service.RowScorer;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The streaming service over an in-process channel, with a stub
+ * {@link RowScorer} that labels iris rows by petal length.
+ */
+public class PredictionGrpcServiceTest {
+
+    private static final double[] SETOSA    = { 5.1, 3.5, 1.4, 0.2 };
+    private static final double[] VIRGINICA = { 6.7, 3.0, 5.2, 2.3 };
+
+    private ExecutorService scoring;
+    private StubScorer      scorer;
+    private Server          server;
+    private ManagedChannel  channel;
+
+    @BeforeEach
+    void start() throws Exception {
+        ModelMetadata metadata = new ObjectMapper().readValue(new File("src/main/resources/data/schema.json"), ModelMetadata.class);
+        scorer  = new StubScorer(FeaturePlan.compile(metadata));
+        scoring = Executors.newFixedThreadPool(4);
+        // two requests in flight per stream forces the flow-control path
+        serve(scoring);
+    }
+
+    private void serve(Executor executor) throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server  = InProcessServerBuilder.forName(name)
+            .addService(new PredictionGrpcService(scorer, executor, 2))
+            .build()
+            .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        scoring.shutdownNow();
+    }
+
+    @Test
+    void pipelinesManyRequestsOnOneStream() throws Exception {
+        List<PredictRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            requests.add(request(i, "iris", i % 2 == 0 ? SETOSA : VIRGINICA));
+        }
+        Map<Long, PredictResponse> responses = exchange(requests);
+
+        assertEquals(200, responses.size());
+        for (int i = 0; i < 200; i++) {
+            PredictResponse r = responses.get((long) i);
+            assertEquals(i % 2 == 0 ? "setosa" : "virginica", r.getPredictions(0).getLabel(), "request " + i);
+        }
+    }
+
+    @Test
+    void scoresBatchesAndKeepsTheStreamOpenOnErrors() throws Exception {
+        Map<Long, PredictResponse> responses = exchange(List.of(
+            request(1, "iris", SETOSA, VIRGINICA),
+            request(2, "unknown", SETOSA),
+            request(3, "iris", new double[] { 5.1, 3.5 }),
+            request(4, "iris", VIRGINICA)));
+
+        assertEquals(List.of("setosa", "virginica"),
+                     responses.get(1L).getPredictionsList().stream().map(p -> p.getLabel()).toList());
+        assertEquals(404, responses.get(2L).getError().getStatus());
+        assertEquals(400, responses.get(3L).getError().getStatus());
+        assertEquals("virginica", responses.get(4L).getPredictions(0).getLabel());
+    }
+
+    @Test
+    void rejectsNonFiniteValues() throws Exception {
+        Map<Long, PredictResponse> responses = exchange(List.of(
+            request(1, "iris", new double[] { 5.1, Double.NaN, 1.4, 0.2 }),
+            request(2, "iris", new double[] { 5.1, 3.5, Double.POSITIVE_INFINITY, 0.2 })));
+
+        assertEquals(400, responses.get(1L).getError().getStatus());
+        assertEquals("Invalid value for feature: sepal_width", responses.get(1L).getError().getMessage());
+        assertEquals(400, responses.get(2L).getError().getStatus());
+    }
+
+    @Test
+    void shedsTheCallWhenTheExecutorIsSaturated() throws Exception {
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, callFailure(command -> {
+            throw new RejectedExecutionException("saturated");
+        }));
+    }
+
+    @Test
+    void failsTheCallWhenTheExecutorIsShutDown() throws Exception {
+        scoring.shutdown();
+        assertEquals(Status.Code.UNAVAILABLE, callFailure(scoring));
+    }
+
+    /** Status that ends a one-request call served on {@code executor}. */
+    private Status.Code callFailure(Executor executor) throws Exception {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        serve(executor);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<PredictRequest> in = PredictionServiceGrpc.newStub(channel).predict(new StreamObserver<>() {
+            @Override public void onNext(PredictResponse r) { }
+            @Override public void onError(Throwable t)      { error.set(t); done.countDown(); }
+            @Override public void onCompleted()             { done.countDown(); }
+        });
+        in.onNext(request(1, "iris", SETOSA));
+        in.onCompleted();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS), "stream did not end");
+        return Status.fromThrowable(error.get()).getCode();
+    }
+
+    private Map<Long, PredictResponse> exchange(List<PredictRequest> requests) throws Exception {
+        Map<Long, PredictResponse> responses = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<PredictRequest> in = PredictionServiceGrpc.newStub(channel).predict(new StreamObserver<>() {
+            @Override public void onNext(PredictResponse r) { responses.put(r.getId(), r); }
+            @Override public void onError(Throwable t)      { done.countDown(); }
+            @Override public void onCompleted()             { done.countDown(); }
+        });
+        requests.forEach(in::onNext);
+        in.onCompleted();
+        assertTrue(done.await(10, TimeUnit.SECONDS), "stream did not complete");
+        return responses;
+    }
+
+    private static PredictRequest request(long id, String modelId, double[]... rows) {
+        PredictRequest.Builder b = PredictRequest.newBuilder().setId(id).setModelId(modelId);
+        for (double[] row : rows) {
+            Row.Builder r = Row.newBuilder();
+            for (double v : row) {
+                r.addValues(v);
+            }
+            b.addRows(r);
+        }
+        return b.build();
+    }
+
+    private static final class StubScorer implements RowScorer {
+
+        private final FeaturePlan  plan;
+        private final ModelMetrics metrics = new ModelMetrics(new SimpleMeterRegistry());
+
+        StubScorer(FeaturePlan plan) {
+            this.plan = plan;
+        }
+
+        @Override
+        public CompletableFuture<Void> preload(String modelId) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public FeaturePlan plan(String modelId) {
+            if (!"iris".equals(modelId)) {
+                throw new ModelNotFoundException(modelId);
+            }
+            return plan;
+        }
+
+        @Override
+        public ModelMetrics.ModelTimers timers(String modelId) {
+            return metrics.timers(modelId);
+        }
+
+        @Override
+        public Object predictRow(String modelId, FeaturePlan plan, double[] row) {
+            return row[plan.slot("petal_length")] < 2.5 ? "setosa" : "virginica";
+        }
+
+        @Override
+        public List<Object> predictRows(String modelId, FeaturePlan plan, double[][] rows) {
+            List<Object> out = new ArrayList<>();
+            for (double[] row : rows) {
+                out.add(predictRow(modelId, plan, row));
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.ifood.mlplatform.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lookup table, unknown-value policies and code encoding of {@link CategoricalConverter}.
+ */
+public class CategoricalConverterTest {
+
+    private static final List<String> CITIES = List.of("sp", "rj", "bh", "poa");
+
+    @Test
+    void resolvesCategoriesToTheirIndex() {
+        CategoricalConverter c = new CategoricalConverter(CITIES, null);
+
+        for (int code = 0; code < CITIES.size(); code++) {
+            assertEquals(code, c.fromText(CITIES.get(code)));
+        }
+        assertEquals(4, c.size());
+    }
+
+    @Test
+    void matchesCharactersInPlace() {
+        CategoricalConverter c = new CategoricalConverter(CITIES, null);
+        char[] buf = "{\"city\":\"poa\"}".toCharArray();
+
+        assertEquals(3, c.fromChars(buf, 9, 3));
+        assertEquals(2, c.fromChars("xxbhxx".toCharArray(), 2, 2));
+        // a prefix of a category is not the category
+        assertThrows(IllegalArgumentException.class, () -> c.fromChars(buf, 9, 2));
+    }
+
+    @Test
+    void acceptsNumbersAndBooleansAsText() {
+        CategoricalConverter sizes = new CategoricalConverter(List.of("1", "2", "2.5"), null);
+        assertEquals(1, sizes.fromNumber(2.0));
+        assertEquals(2, sizes.fromNumber(2.5));
+        assertThrows(IllegalArgumentException.class, () -> sizes.fromNumber(3));
+
+        CategoricalConverter flags = new CategoricalConverter(List.of("false", "true"), null);
+        assertEquals(1, flags.fromBoolean(true));
+    }
+
+    @Test
+    void resolvesCollidingHashes() {
+        // "Aa" and "BB" share String.hashCode, as do "AaAa", "AaBB", "BBAa" and "BBBB"
+        List<String> colliding = List.of("Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB");
+        CategoricalConverter c = new CategoricalConverter(colliding, null);
+
+        for (int code = 0; code < colliding.size(); code++) {
+            assertEquals(code, c.fromText(colliding.get(code)));
+            assertEquals(code, c.fromChars(colliding.get(code).toCharArray(), 0, colliding.get(code).length()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> c.fromText("AaBBAa"));
+    }
+
+    @Test
+    void resolvesLargeTables() {
+        List<String> many = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            many.add("store-" + i);
+        }
+        CategoricalConverter c = new CategoricalConverter(many, null);
+
+        for (int code = 0; code < many.size(); code++) {
+            assertEquals(code, c.fromText(many.get(code)));
+        }
+    }
+
+    @Test
+    void rejectsUnknownValuesByDefault() {
+        CategoricalConverter c = new CategoricalConverter(CITIES, "error");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> c.fromText("recife"));
+        assertEquals("Unknown category: recife", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> c.fromText(""));
+        assertThrows(IllegalArgumentException.class, () -> c.fromText("SP"));
+    }
+
+    @Test
+    void mapsUnknownValuesToTheOtherCode() {
+        CategoricalConverter c = new CategoricalConverter(CITIES, "OTHER");
+
+        assertEquals(4, c.fromText("recife"));
+        assertEquals(4, c.fromChars("recife".toCharArray(), 0, 6));
+        assertEquals(0, c.fromText("sp"));
+    }
+
+    @Test
+    void rejectsInvalidDeclarations() {
+        assertThrows(IllegalArgumentException.class, () -> new CategoricalConverter(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> new CategoricalConverter(null, null));
+        assertThrows(IllegalArgumentException.class, () -> new CategoricalConverter(List.of("a", "b", "a"), null));
+        assertThrows(IllegalArgumentException.class, () -> new CategoricalConverter(CITIES, "ignore"));
+    }
+
+    @Test
+    void roundTripsCodesAndCategories() {
+        CategoricalConverter c = new CategoricalConverter(CITIES, "other");
+
+        for (int code = 0; code < c.size(); code++) {
+            assertEquals(code, c.fromText(c.category(code)));
+            assertEquals(code, c.fromEncoded(code));
+        }
+        assertNull(c.category(-1));
+        assertNull(c.category(c.size()));
+        assertEquals(4, c.fromEncoded(4));
+        assertThrows(IllegalArgumentException.class, () -> c.fromEncoded(5));
+        assertThrows(IllegalArgumentException.class, () -> c.fromEncoded(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new CategoricalConverter(CITIES, "error").fromEncoded(4));
+    }
+
+    @Test
+    void encodesLikeAnotherConverterOnlyWithTheSameCategoriesAndPolicy() {
+        CategoricalConverter c = new CategoricalConverter(CITIES, null);
+
+        assertEquals(c, new CategoricalConverter(List.copyOf(CITIES), "error"));
+        assertEquals(c.hashCode(), new CategoricalConverter(List.copyOf(CITIES), "error").hashCode());
+        assertNotEquals(c, new CategoricalConverter(CITIES, "other"));
+        assertNotEquals(c, new CategoricalConverter(List.of("rj", "sp", "bh", "poa"), null));
+    }
+}
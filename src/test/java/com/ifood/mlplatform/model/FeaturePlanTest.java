@@ -0,0 +1,83 @@
+package com.ifood.mlplatform.model;
+
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Binding of categorical features by {@link FeaturePlan}.
+ */
+public class FeaturePlanTest {
+
+    @Test
+    void bindsCategoriesToCodes() {
+        FeaturePlan plan = FeaturePlan.compile(metadata(List.of("sp", "rj", "bh"), "error"));
+
+        assertTrue(plan.hasCategorical());
+        assertInstanceOf(CategoricalConverter.class, plan.converter(1));
+        assertArrayEquals(new double[] { 12.5, 2, 1, 0 },
+                          plan.bind(Map.of("amount", 12.5, "city", "bh", "express", true), plan.newRow()));
+    }
+
+    @Test
+    void reportsTheFeatureOfAnUnknownCategory() {
+        FeaturePlan plan = FeaturePlan.compile(metadata(List.of("sp", "rj"), null));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> plan.bind(Map.of("amount", 1, "city", "recife", "express", false), plan.newRow()));
+        assertEquals("Invalid value for feature: city", e.getMessage());
+        assertEquals("Unknown category: recife", e.getCause().getMessage());
+    }
+
+    @Test
+    void bindsUnknownCategoriesToTheOtherCode() {
+        FeaturePlan plan = FeaturePlan.compile(metadata(List.of("sp", "rj"), "other"));
+
+        assertEquals(2, plan.bind(Map.of("amount", 1, "city", "recife", "express", false), plan.newRow())[1]);
+        assertEquals(2, plan.bindEncoded(3, i -> i == 1 ? 2 : 0)[1]);
+        assertThrows(IllegalArgumentException.class, () -> plan.bindEncoded(3, i -> i == 1 ? 3 : 0));
+    }
+
+    @Test
+    void isCompatibleOnlyWithTheSameEncoding() {
+        FeaturePlan plan = FeaturePlan.compile(metadata(List.of("sp", "rj"), null));
+
+        assertTrue(plan.compatibleWith(FeaturePlan.compile(metadata(List.of("sp", "rj"), "error"))));
+        assertFalse(plan.compatibleWith(FeaturePlan.compile(metadata(List.of("rj", "sp"), null))));
+        assertFalse(plan.compatibleWith(FeaturePlan.compile(metadata(List.of("sp", "rj", "bh"), null))));
+        assertFalse(plan.compatibleWith(FeaturePlan.compile(metadata(List.of("sp", "rj"), "other"))));
+    }
+
+    @Test
+    void rejectsCategoricalFeaturesWithoutCategories() {
+        assertThrows(IllegalArgumentException.class, () -> FeaturePlan.compile(metadata(List.of(), null)));
+        assertThrows(IllegalArgumentException.class, () -> FeaturePlan.compile(metadata(null, null)));
+    }
+
+    private static ModelMetadata metadata(List<String> cities, String unknown) {
+        ModelMetadata md = new ModelMetadata();
+        md.features = List.of(feature("amount", "double", null, null),
+                              feature("city", "categorical", cities, unknown),
+                              feature("express", "boolean", null, null));
+        return md;
+    }
+
+    private static ModelMetadata.Feature feature(String name, String type, List<String> categories, String unknown) {
+        ModelMetadata.Feature f = new ModelMetadata.Feature();
+        f.name       = name;
+        f.type       = type;
+        f.categories = categories;
+        f.unknown    = unknown;
+        return f;
+    }
+}
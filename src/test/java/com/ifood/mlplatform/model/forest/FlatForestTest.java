@@ -0,0 +1,167 @@
+package com.ifood.mlplatform.model.forest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.exception.StorageException;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import com.ifood.mlplatform.util.MetadataConverter;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import smile.classification.RandomForest;
+import smile.data.DataFrame;
+import smile.data.Tuple;
+import smile.data.formula.Formula;
+import smile.data.type.StructType;
+import smile.data.vector.IntVector;
+import smile.io.Read;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The flattened engines must agree with Smile on every row.
+ */
+public class FlatForestTest {
+
+    private static RandomForest  forest;
+    private static ModelMetadata metadata;
+    private static double[][]    rows;
+
+    @BeforeAll
+    static void train() throws Exception {
+        metadata = new ObjectMapper().readValue(new File("src/main/resources/data/schema.json"), ModelMetadata.class);
+        DataFrame data = Read.csv("src/main/resources/data/iris.csv", CSVFormat.DEFAULT.builder().setHeader().build());
+
+        String label = metadata.label.name;
+        String[] names = data.stringVector(label).toArray();
+        int[] y = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            y[i] = metadata.label.classes.indexOf(names[i]);
+        }
+        data = data.drop(label).merge(IntVector.of(label, y));
+        forest = RandomForest.fit(Formula.lhs(label), data);
+
+        // real rows plus random ones spread around the feature ranges
+        FeaturePlan plan = FeaturePlan.compile(metadata);
+        Random rnd = new Random(7);
+        rows = new double[data.nrow() + 2000][];
+        for (int r = 0; r < rows.length; r++) {
+            double[] row = plan.newRow();
+            for (int i = 0; i < plan.featureCount(); i++) {
+                row[i] = r < data.nrow()
+                       ? data.getDouble(r, data.indexOf(plan.name(i)))
+                       : rnd.nextDouble() * 8;
+            }
+            rows[r] = row;
+        }
+    }
+
+    @Test
+    void flatForestMatchesSmile() {
+        FlatForest flat = ForestFlattener.flatten(forest, FeaturePlan.compile(metadata));
+        assertMatchesSmile(flat);
+    }
+
+    @Test
+    void mappedForestMatchesSmile() throws Exception {
+        FlatForest flat = ForestFlattener.flatten(forest, FeaturePlan.compile(metadata));
+        Path file = Files.createTempFile("iris", ".forest");
+        try {
+            try (OutputStream out = new FileOutputStream(file.toFile())) {
+                ForestFormat.write(flat, out);
+            }
+            assertMatchesSmile(ForestFormat.map(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void posteriorsMatchSmile() throws Exception {
+        FlatForest flat = ForestFlattener.flatten(forest, FeaturePlan.compile(metadata));
+        Path file = Files.createTempFile("iris", ".forest");
+        try {
+            try (OutputStream out = new FileOutputStream(file.toFile())) {
+                ForestFormat.write(flat, out);
+            }
+            MappedForest mapped = ForestFormat.map(file);
+            StructType schema = MetadataConverter.toFullSchema(metadata);
+            int k = flat.numClasses();
+            double[] expected = new double[k];
+            double[] heap     = new double[k];
+            double[] offHeap  = new double[k];
+            for (int r = 0; r < rows.length; r++) {
+                forest.predict(Tuple.of(rows[r], schema), expected);
+                flat.posteriors(rows[r], heap);
+                mapped.posteriors(rows[r], offHeap);
+                assertArrayEquals(expected, heap, 1e-9, "flat row " + r);
+                assertArrayEquals(expected, offHeap, 1e-9, "mapped row " + r);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void rejectsCorruptFiles() throws Exception {
+        FlatForest flat = ForestFlattener.flatten(forest, FeaturePlan.compile(metadata));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ForestFormat.write(flat, out);
+        byte[] good = out.toByteArray();
+
+        int numNodes = flat.numNodes();
+        int roots    = ForestFormat.HEADER_V2 + flat.numClasses() * Integer.BYTES;
+        int feature  = ((roots + flat.numTrees() * Integer.BYTES + 7) & ~7) + numNodes * Double.BYTES;
+        int left     = feature + numNodes * Integer.BYTES;
+        int root     = flat.roots[0];
+
+        assertCorrupt(Arrays.copyOf(good, good.length - 8));                      // truncated
+        assertCorrupt(patch(good, 12, Integer.MAX_VALUE));                         // node count past the file
+        assertCorrupt(patch(good, roots, numNodes));                               // root out of range
+        assertCorrupt(patch(good, feature + root * Integer.BYTES, 1000));         // feature slot out of range
+        assertCorrupt(patch(good, left + root * Integer.BYTES, root));            // self loop
+        assertCorrupt(patch(good, left + root * Integer.BYTES, -5));              // negative child
+        assertCorrupt(patch(good, good.length - Integer.BYTES, -1));              // NaN tree weight
+    }
+
+    private static byte[] patch(byte[] file, int offset, int value) {
+        byte[] copy = file.clone();
+        ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+        return copy;
+    }
+
+    private static void assertCorrupt(byte[] bytes) throws Exception {
+        Path file = Files.createTempFile("corrupt", ".forest");
+        try {
+            Files.write(file, bytes);
+            assertThrows(StorageException.class, () -> ForestFormat.map(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void assertMatchesSmile(TreeEnsemble ensemble) {
+        StructType schema = MetadataConverter.toFullSchema(metadata);
+        int[] batch = ensemble.predict(rows);
+        for (int r = 0; r < rows.length; r++) {
+            int expected = forest.predict(Tuple.of(rows[r], schema));
+            assertEquals(expected, ensemble.predict(rows[r]), "single row " + r);
+            assertEquals(expected, batch[r], "batch row " + r);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ifood.mlplatform.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ifood.mlplatform.config.ModelCacheProperties;
+import com.ifood.mlplatform.config.ReactiveProperties;
+import com.ifood.mlplatform.exception.ModelNotFoundException;
+import com.ifood.mlplatform.handler.GlobalExceptionHandler;
+import com.ifood.mlplatform.model.FeaturePlan;
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+import com.ifood.mlplatform.service.ModelMetrics;
+import com.ifood.mlplatform.service.RowScorer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The WebFlux endpoints of the {@code reactive} profile through
+ * {@link WebTestClient}, with the application's error mapping and a stub
+ * {@link RowScorer} that labels iris rows by petal length.
+ */
+public class ReactivePredictionControllerTest {
+
+    private static final String SETOSA    = "{ \"sepal_length\": 5.1, \"sepal_width\": 3.5, \"petal_length\": 1.4, \"petal_width\": 0.2 }";
+    private static final String VIRGINICA = "{ \"sepal_length\": 6.7, \"sepal_width\": 3.0, \"petal_length\": 5.2, \"petal_width\": 2.3 }";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private StubScorer           scorer;
+    private ReactiveInference    inference;
+    private WebTestClient        client;
+
+    @BeforeEach
+    void start() throws IOException {
+        ModelMetadata metadata = new ObjectMapper().readValue(new File("src/main/resources/data/schema.json"), ModelMetadata.class);
+        scorer = new StubScorer(FeaturePlan.compile(metadata));
+        serve(2, 8);
+    }
+
+    private void serve(int threads, int queueCapacity) {
+        ReactiveProperties properties = new ReactiveProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        inference = new ReactiveInference(scorer, new ModelCacheProperties(), properties);
+        client    = WebTestClient
+            .bindToController(new ReactivePredictionController(scorer, inference, new ObjectMapper()))
+            .controllerAdvice(new GlobalExceptionHandler(new SimpleMeterRegistry()))
+            .build();
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        inference.shutdown();
+    }
+
+    @Test
+    void predictsOneRow() {
+        post("/predict/iris", "{ \"features\": " + SETOSA + " }")
+            .expectStatus().isOk()
+            .expectBody().jsonPath("$.prediction").isEqualTo("setosa");
+    }
+
+    @Test
+    void predictsABatchInRequestOrder() {
+        post("/predict/iris/batch", "{ \"instances\": [ " + VIRGINICA + ", " + SETOSA + " ] }")
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.predictions[0]").isEqualTo("virginica")
+            .jsonPath("$.predictions[1]").isEqualTo("setosa");
+    }
+
+    @Test
+    void rejectsInvalidBodiesWithTheJsonErrorBody() {
+        post("/predict/iris", "{ \"instances\": [ " + SETOSA + " ] }")
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath("$.message").isEqualTo("`instances` is for /batch; send one row as `features`");
+
+        post("/predict/iris", "{ \"features\": { \"sepal_length\": 5.1 } }")
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath("$.message").isEqualTo("Missing feature: sepal_width");
+
+        post("/predict/iris", "{ \"features\": ")
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void reportsAMissingModel() {
+        post("/predict/nonexistent-model", "{ \"features\": " + SETOSA + " }")
+            .expectStatus().isNotFound()
+            .expectBody().jsonPath("$.message").isEqualTo("Model not found: nonexistent-model");
+    }
+
+    @Test
+    void shedsWithRetryAfterWhenTheScoringQueueIsFull() {
+        inference.shutdown();
+        serve(1, 1);
+        // one call scoring, one queued: the pool is full
+        inference.score("iris", () -> { release.await(); return null; }).subscribe();
+        inference.score("iris", () -> null).subscribe();
+
+        post("/predict/iris", "{ \"features\": " + SETOSA + " }")
+            .expectStatus().isEqualTo(503)
+            .expectHeader().valueEquals("Retry-After", "1");
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, String json) {
+        return client.post().uri(uri)
+                     .contentType(MediaType.APPLICATION_JSON)
+                     .accept(MediaType.APPLICATION_JSON)
+                     .bodyValue(json)
+                     .exchange();
+    }
+
+    private static final class StubScorer implements RowScorer {
+
+        private final FeaturePlan  plan;
+        private final ModelMetrics metrics = new ModelMetrics(new SimpleMeterRegistry());
+
+        StubScorer(FeaturePlan plan) {
+            this.plan = plan;
+        }
+
+        @Override
+        public CompletableFuture<Void> preload(String modelId) {
+            return "iris".equals(modelId)
+                 ? CompletableFuture.completedFuture(null)
+                 : CompletableFuture.failedFuture(new ModelNotFoundException(modelId));
+        }
+
+        @Override
+        public FeaturePlan plan(String modelId) {
+            return plan;
+        }
+
+        @Override
+        public ModelMetrics.ModelTimers timers(String modelId) {
+            return metrics.timers(modelId);
+        }
+
+        @Override
+        public Object predictRow(String modelId, FeaturePlan plan, double[] row) {
+            return row[plan.slot("petal_length")] < 2.5 ? "setosa" : "virginica";
+        }
+
+        @Override
+        public List<Object> predictRows(String modelId, FeaturePlan plan, double[][] rows) {
+            List<Object> out = new ArrayList<>();
+            for (double[] row : rows) {
+                out.add(predictRow(modelId, plan, row));
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.BulkheadProperties;
+import com.ifood.mlplatform.config.InferenceProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Isolation, sizing and call budgets of {@link Bulkheads}.
+ */
+public class BulkheadsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InferenceLimiter    limiter  = limiter();
+    private Bulkheads                 bulkheads;
+
+    @AfterEach
+    void stop() {
+        RequestDeadline.clear();
+        if (bulkheads != null) {
+            bulkheads.shutdown();
+        }
+    }
+
+    @Test
+    void busyGroupShedsWithoutBlockingOtherGroups() throws Exception {
+        bulkheads = bulkheads(Map.of("slow", group("slow", 1, 1), "fast", group("fast", 1, 1)));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        // one call on the slow group's only thread, one in its queue
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> call("slow", () -> {
+            running.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> call("slow", () -> "queued"));
+        waitFor(() -> registry.get("executor.queued").tag("bulkhead", "slow").gauge().value() == 1);
+
+        // the busy group holds none of the global scoring slots
+        assertEquals(0, limiter.inFlight());
+
+        assertThrows(ModelOverloadedException.class, () -> call("slow@v2", () -> "shed"));
+        assertEquals(1, registry.counter("model.bulkhead.rejected", "bulkhead", "slow").count());
+
+        // the other group and ungrouped models are unaffected
+        assertTrue(call("fast", () -> Thread.currentThread().getName()).startsWith("bulkhead-fast-"));
+        String caller = Thread.currentThread().getName();
+        assertEquals(caller, call("iris", () -> Thread.currentThread().getName()));
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void defaultsBelowTheGlobalLimit() {
+        BulkheadProperties.Group group = group("fraud", 0, 64);
+        group.setTargetRate(1_000_000);
+        bulkheads = bulkheads(Map.of("forests", group));
+        assertEquals(1, bulkheads.threads("forests"));
+
+        // an expensive group grows to half of the 4 global slots, no further
+        call("fraud", () -> {
+            sleep(10);
+            return null;
+        });
+        bulkheads.resize();
+        assertEquals(2, bulkheads.threads("forests"));
+    }
+
+    @Test
+    void sizesFromScoringTime() {
+        BulkheadProperties.Group group = group("fraud", 0, 64);
+        group.setMaxThreads(16);
+        group.setTargetRate(50);
+        group.setTargetUtilization(1.0);
+        bulkheads = bulkheads(Map.of("forests", group));
+        assertEquals(8, bulkheads.threads("forests"));
+
+        // 30 ms scoring: 50/s * 30 ms = 1.5 threads
+        for (int i = 0; i < 5; i++) {
+            call("fraud", () -> {
+                sleep(30);
+                return null;
+            });
+        }
+        bulkheads.resize();
+
+        int threads = bulkheads.threads("forests");
+        assertTrue(threads >= 2 && threads <= 3, "threads=" + threads);
+
+        // no calls since the last resize: size is kept
+        bulkheads.resize();
+        assertEquals(threads, bulkheads.threads("forests"));
+    }
+
+    @Test
+    void cancelsCallsPastTheDeadline() throws Exception {
+        bulkheads = bulkheads(Map.of("slow", group("slow", 1, 1)));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        RequestDeadline.set(50);
+        assertThrows(InferenceOverloadedException.class, () -> call("slow", () -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.counter("model.bulkhead.timeout", "bulkhead", "slow").count());
+
+        // the thread and the scoring slot are free again
+        RequestDeadline.clear();
+        waitFor(() -> limiter.inFlight() == 0);
+        assertEquals("ok", call("slow", () -> "ok"));
+    }
+
+    private <T> T call(String modelKey, Supplier<T> scoring) {
+        return bulkheads.call(modelKey, false, scoring);
+    }
+
+    private Bulkheads bulkheads(Map<String, BulkheadProperties.Group> groups) {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setEnabled(true);
+        properties.setResizeInterval(Duration.ofHours(1));
+        properties.setCallTimeout(Duration.ofSeconds(5));
+        properties.getGroups().putAll(groups);
+        return new Bulkheads(properties, limiter, registry);
+    }
+
+    private static BulkheadProperties.Group group(String modelId, int threads, int queueCapacity) {
+        BulkheadProperties.Group group = new BulkheadProperties.Group();
+        group.setModels(List.of(modelId));
+        group.setThreads(threads);
+        group.setQueueCapacity(queueCapacity);
+        return group;
+    }
+
+    private InferenceLimiter limiter() {
+        InferenceProperties properties = new InferenceProperties();
+        properties.setMaxConcurrency(4);
+        properties.setAcquireTimeout(Duration.ofSeconds(1));
+        return new InferenceLimiter(properties, registry);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 s");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.InferenceProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import com.ifood.mlplatform.exception.ModelOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-model AIMD limits, shedding and deadlines of {@link InferenceLimiter}.
+ */
+public class InferenceLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void shedsRequestsOverTheModelLimit() {
+        InferenceLimiter limiter = limiter(4, 2, Duration.ofMillis(50));
+        InferenceLimiter.Permit a = limiter.acquire("m");
+        InferenceLimiter.Permit b = limiter.acquire("m");
+
+        assertThrows(ModelOverloadedException.class, () -> limiter.acquire("m"));
+        assertEquals(1, registry.counter("model.inference.rejected", "model", "m", "reason", "model_limit").count());
+        // other models keep their own limit
+        limiter.acquire("other").close();
+
+        a.close();
+        limiter.acquire("m").close();
+        b.close();
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void rejectsSpentDeadlineEvenWithFreeSlots() {
+        InferenceLimiter limiter = limiter(4, 4, Duration.ofSeconds(1));
+        RequestDeadline.set(0);
+
+        assertThrows(InferenceOverloadedException.class, () -> limiter.acquire("m"));
+        assertThrows(InferenceOverloadedException.class, () -> limiter.admit("m"));
+        assertEquals(0, limiter.inFlight());
+
+        // the rejected requests gave their model slots back
+        RequestDeadline.clear();
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire("m");
+        }
+    }
+
+    @Test
+    void decreasesOncePerRoundTrip() throws Exception {
+        InferenceLimiter limiter = limiter(8, 8, Duration.ofMillis(100));
+        List<InferenceLimiter.Permit> held = holdAll(limiter, 8);
+
+        // three requests queue together and all time out: one congestion event
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> waiting = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                waiting.add(callers.submit(() -> {
+                    start.await();
+                    return assertThrows(InferenceOverloadedException.class, () -> limiter.acquire("m"));
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : waiting) {
+                f.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(7, limiter.limit("m"));   // 8 * 0.9, not 8 * 0.9^3
+        held.forEach(InferenceLimiter.Permit::close);
+    }
+
+    @Test
+    void growsBackWhileTheModelUsesItsLimit() {
+        InferenceLimiter limiter = limiter(8, 8, Duration.ofMillis(20));
+        List<InferenceLimiter.Permit> held = holdAll(limiter, 8);
+        assertThrows(InferenceOverloadedException.class, () -> limiter.acquire("m"));
+        held.forEach(InferenceLimiter.Permit::close);
+        assertEquals(7, limiter.limit("m"));
+
+        // three held + one more makes 4 in flight, at least half of 7.2
+        List<InferenceLimiter.Permit> busy = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            busy.add(limiter.acquire("m"));
+        }
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("m").close();
+        }
+        assertEquals(8, limiter.limit("m"));   // capped at max
+        busy.forEach(InferenceLimiter.Permit::close);
+    }
+
+    @Test
+    void neverDropsBelowMin() {
+        InferenceLimiter limiter = limiter(1, 2, Duration.ofMillis(5));
+        for (int i = 0; i < 10; i++) {
+            InferenceLimiter.Permit held = limiter.acquire("other");
+            assertThrows(InferenceOverloadedException.class, () -> limiter.acquire("m"));
+            held.close();
+        }
+        assertEquals(1, limiter.limit("m"));
+        assertTrue(registry.counter("model.inference.rejected", "model", "m", "reason", "timeout").count() >= 10);
+    }
+
+    private InferenceLimiter limiter(int concurrency, int modelMax, Duration acquireTimeout) {
+        InferenceProperties properties = new InferenceProperties();
+        properties.setMaxConcurrency(concurrency);
+        properties.setAcquireTimeout(acquireTimeout);
+        properties.getModelLimit().setMax(modelMax);
+        properties.getModelLimit().setQueueTarget(Duration.ofMillis(5));
+        return new InferenceLimiter(properties, registry);
+    }
+
+    private static List<InferenceLimiter.Permit> holdAll(InferenceLimiter limiter, int n) {
+        List<InferenceLimiter.Permit> held = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            held.add(limiter.acquire("holder-" + i));
+        }
+        return held;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ifood.mlplatform.service;
+
+import com.ifood.mlplatform.config.BatchingProperties;
+import com.ifood.mlplatform.exception.InferenceOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Coalescing, flush triggers and shutdown of {@link MicroBatcher} on shared
+ * {@link BatchFlushers}.
+ */
+public class MicroBatcherTest {
+
+    private final DistributionSummary batchSizes = new SimpleMeterRegistry().summary("model.batch.size");
+    private final List<Integer>       batches    = new CopyOnWriteArrayList<>();
+    private final ExecutorService     callers    = Executors.newFixedThreadPool(8);
+    private BatchFlushers             flushers;
+
+    @AfterEach
+    void stop() {
+        RequestDeadline.clear();
+        callers.shutdownNow();
+        if (flushers != null) {
+            flushers.shutdown();
+        }
+    }
+
+    @Test
+    void fullBatchFlushesWithoutWaitingForTheDelay() throws Exception {
+        MicroBatcher batcher = batcher(4, Duration.ofSeconds(30), echo());
+
+        List<CompletableFuture<Object>> results = predictAll(batcher, 4);
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals((double) i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(4), batches);
+    }
+
+    @Test
+    void partialBatchFlushesAfterTheDelay() throws Exception {
+        MicroBatcher batcher = batcher(32, Duration.ofMillis(20), echo());
+
+        List<CompletableFuture<Object>> results = predictAll(batcher, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals((double) i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(3, batches.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(3, batchSizes.totalAmount());
+
+        // the timer re-arms for the next row
+        assertEquals(7.0, batcher.predict(new double[] { 7, 0 }));
+    }
+
+    @Test
+    void failureReachesEveryCallerOfTheBatch() throws Exception {
+        MicroBatcher batcher = batcher(2, Duration.ofSeconds(30), rows -> {
+            throw new IllegalStateException("boom");
+        });
+
+        for (CompletableFuture<Object> result : predictAll(batcher, 2)) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void closeScoresQueuedRowsThenScoresDirectly() throws Exception {
+        MicroBatcher batcher = batcher(32, Duration.ofSeconds(30), echo());
+        List<CompletableFuture<Object>> results = predictAll(batcher, 3);
+        waitForQueued(results);
+        assertTrue(batches.isEmpty());
+
+        batcher.close();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals((double) i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(List.of(3), batches);
+        assertEquals(9.0, batcher.predict(new double[] { 9, 0 }));
+        assertEquals(List.of(3, 1), batches);
+    }
+
+    @Test
+    void callerGivesUpAtItsDeadline() {
+        MicroBatcher batcher = batcher(32, Duration.ofSeconds(30), echo());
+
+        RequestDeadline.set(50);
+        assertThrows(InferenceOverloadedException.class, () -> batcher.predict(new double[] { 1, 0 }));
+
+        // the abandoned row is not scored
+        batcher.close();
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void shutdownFlushesBatchesThatAreDue() throws Exception {
+        MicroBatcher batcher = batcher(32, Duration.ofSeconds(30), echo());
+        List<CompletableFuture<Object>> results = predictAll(batcher, 2);
+        waitForQueued(results);
+
+        // the pending timer fires at once instead of after 30 s
+        flushers.shutdown();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals((double) i, results.get(i).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /** Scores every row as its first value and records the batch size. */
+    private Function<double[][], List<Object>> echo() {
+        return rows -> {
+            batches.add(rows.length);
+            List<Object> out = new ArrayList<>();
+            for (double[] row : rows) {
+                out.add(row[0]);
+            }
+            return out;
+        };
+    }
+
+    private MicroBatcher batcher(int maxBatchSize, Duration maxDelay, Function<double[][], List<Object>> scorer) {
+        BatchingProperties properties = properties(maxBatchSize, maxDelay);
+        if (flushers == null) {
+            flushers = new BatchFlushers(properties, new ExecutorFactory(false));
+        }
+        return new MicroBatcher("m", scorer, properties, flushers, batchSizes);
+    }
+
+    private static BatchingProperties properties(int maxBatchSize, Duration maxDelay) {
+        BatchingProperties properties = new BatchingProperties();
+        properties.setEnabled(true);
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setMaxDelay(maxDelay);
+        properties.setFlushers(2);
+        return properties;
+    }
+
+    /** Row {@code i} of n, each from its own caller thread. */
+    private List<CompletableFuture<Object>> predictAll(MicroBatcher batcher, int n) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            double[] row = { i, 0 };
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return batcher.predict(row);
+            }, callers));
+        }
+        start.countDown();
+        return results;
+    }
+
+    /** Give the callers time to enqueue; none of them may have an answer yet. */
+    private static void waitForQueued(List<CompletableFuture<Object>> results) throws InterruptedException {
+        Thread.sleep(100);
+        assertTrue(results.stream().noneMatch(CompletableFuture::isDone));
+    }
+}
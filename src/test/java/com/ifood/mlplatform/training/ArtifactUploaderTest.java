@@ -0,0 +1,116 @@
+package com.ifood.mlplatform.training;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Piped streaming and failure propagation of {@link ArtifactUploader}.
+ */
+public class ArtifactUploaderTest {
+
+    /** Several pipe buffers' worth, so the writer blocks on the reader. */
+    private static final byte[] ARTIFACT = new byte[3 * (1 << 20) + 17];
+
+    static {
+        new Random(7).nextBytes(ARTIFACT);
+    }
+
+    private final ByteArrayOutputStream stored    = new ByteArrayOutputStream();
+    private final AtomicBoolean         completed = new AtomicBoolean();
+
+    /** Reads until end of stream like a multipart upload, completing only on a clean end. */
+    private final ArtifactUploader.ObjectStore store = (object, contentType, in, size, partSize) -> {
+        assertEquals(-1, size);
+        assertEquals(ArtifactUploader.PART_SIZE, partSize);
+        in.transferTo(stored);
+        completed.set(true);
+    };
+
+    @Test
+    void streamsWhatTheWriterWrites() throws Exception {
+        new ArtifactUploader(store).stream("m/v1/model.bin", "application/octet-stream", out -> {
+            for (int i = 0; i < ARTIFACT.length; i += 4096) {
+                out.write(ARTIFACT, i, Math.min(4096, ARTIFACT.length - i));
+            }
+        });
+
+        assertTrue(completed.get());
+        assertArrayEquals(ARTIFACT, stored.toByteArray());
+    }
+
+    @Test
+    void failsTheUploadWithTheWritersException() {
+        IOException cause = new IOException("disk full");
+
+        IOException thrown = assertThrows(IOException.class,
+            () -> new ArtifactUploader(store).stream("m/v1/model.bin", "application/octet-stream", out -> {
+                out.write(ARTIFACT, 0, ARTIFACT.length / 2);
+                throw cause;
+            }));
+
+        assertSame(cause, thrown);
+        assertFalse(completed.get(), "a failed writer must not complete the upload");
+    }
+
+    @Test
+    void failsTheUploadWhenTheWriterThrowsUnchecked() {
+        IllegalStateException cause = new IllegalStateException("unserializable model");
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> new ArtifactUploader(store).stream("m/v1/model.bin", "application/octet-stream", out -> {
+                throw cause;
+            }));
+
+        assertSame(cause, thrown);
+        assertFalse(completed.get());
+    }
+
+    @Test
+    void reportsTheStoreFailureAndReleasesTheWriter() {
+        IOException refused = new IOException("bucket not found");
+        ArtifactUploader.ObjectStore failing = (object, contentType, in, size, partSize) -> {
+            in.readNBytes(1024);
+            throw refused;
+        };
+
+        // the writer is left blocked on a full pipe until the upload gives up
+        IOException thrown = assertThrows(IOException.class,
+            () -> new ArtifactUploader(failing).stream("m/v1/model.bin", "application/octet-stream",
+                                                       out -> out.write(ARTIFACT)));
+
+        assertSame(refused, thrown);
+    }
+
+    @Test
+    void failsWhenTheStoreStopsReadingEarly() {
+        ArtifactUploader.ObjectStore partial = (object, contentType, in, size, partSize) -> in.readNBytes(1024);
+
+        assertThrows(IOException.class,
+            () -> new ArtifactUploader(partial).stream("m/v1/model.bin", "application/octet-stream",
+                                                       out -> out.write(ARTIFACT)));
+    }
+
+    @Test
+    void putsSmallObjectsWithTheirLength() throws Exception {
+        byte[][] seen = new byte[1][];
+        long[]   size = new long[1];
+        new ArtifactUploader((object, contentType, in, length, partSize) -> {
+            size[0] = length;
+            seen[0] = in.readAllBytes();
+        }).put("m/current", "text/plain", "v3".getBytes());
+
+        assertEquals(2, size[0]);
+        assertArrayEquals("v3".getBytes(), seen[0]);
+    }
+}
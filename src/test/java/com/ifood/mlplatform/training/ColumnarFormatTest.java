@@ -0,0 +1,134 @@
+package com.ifood.mlplatform.training;
+
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round trip and header validation of {@link ColumnarFormat}.
+ */
+public class ColumnarFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsColumnsDictionariesAndLabels() throws IOException {
+        Path file = write();
+
+        TrainingData read = ColumnarFormat.read(file, metadata(List.of("sp", "rj"), "categorical"));
+
+        assertEquals(3, read.rows());
+        assertArrayEquals(new double[] { 1.5, -2, 1e9 }, read.column(0));
+        assertArrayEquals(new double[] { 1, 0, 2 }, read.column(1));
+        assertArrayEquals(new String[] { "sp", "rj", "bh" }, read.dictionary(1));
+        assertArrayEquals(new String[] { "no", "yes" }, read.classes());
+        assertArrayEquals(new int[] { 0, 1, 1 }, read.labels());
+    }
+
+    @Test
+    void acceptsCategoriesAppendedAfterTheDeclaredOnes() throws IOException {
+        Path file = write();
+
+        assertEquals(3, ColumnarFormat.read(file, metadata(List.of("sp"), "categorical")).rows());
+        assertEquals(3, ColumnarFormat.read(file, metadata(null, "categorical")).rows());
+    }
+
+    @Test
+    void rejectsAFeatureOfAnotherKind() throws IOException {
+        Path file = write();
+
+        IOException e = assertThrows(IOException.class,
+                                     () -> ColumnarFormat.read(file, metadata(null, "double")));
+        assertTrue(e.getMessage().contains("different schema"));
+    }
+
+    @Test
+    void rejectsCategoriesInAnotherOrder() throws IOException {
+        Path file = write();
+
+        assertThrows(IOException.class, () -> ColumnarFormat.read(file, metadata(List.of("rj", "sp"), "categorical")));
+        assertThrows(IOException.class, () -> ColumnarFormat.read(file, metadata(List.of("sp", "rj", "bh", "poa"), "categorical")));
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path file = write();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(ch.size() - Integer.BYTES);
+        }
+
+        IOException e = assertThrows(IOException.class,
+                                     () -> ColumnarFormat.read(file, metadata(List.of("sp", "rj"), "categorical")));
+        assertTrue(e.getMessage().startsWith("Truncated or corrupt"));
+    }
+
+    @Test
+    void rejectsCorruptHeaderValuesBeforeAllocating() throws IOException {
+        ModelMetadata md = metadata(List.of("sp", "rj"), "categorical");
+
+        // magic, version, rows, then the feature count and the first name's length
+        assertThrows(IOException.class, () -> ColumnarFormat.read(patch(write(), 8, Long.MAX_VALUE), md));
+        assertThrows(IOException.class, () -> ColumnarFormat.read(patch(write(), 8, 1L << 30), md));
+        assertThrows(IOException.class, () -> ColumnarFormat.read(patch(write(), 16, Integer.MAX_VALUE), md));
+        assertThrows(IOException.class, () -> ColumnarFormat.read(patch(write(), 20, Integer.MAX_VALUE), md));
+        assertThrows(IOException.class, () -> ColumnarFormat.read(patch(write(), 20, -1), md));
+        assertThrows(IOException.class, () -> ColumnarFormat.read(patch(write(), 0, 0), md));
+    }
+
+    private Path write() throws IOException {
+        TrainingData data = new TrainingData(new String[] { "amount", "city" },
+                                             new double[][] { { 1.5, -2, 1e9 }, { 1, 0, 2 } },
+                                             new String[][] { null, { "sp", "rj", "bh" } },
+                                             "churn", new String[] { "no", "yes" }, new int[] { 0, 1, 1 });
+        Path file = dir.resolve("train" + ColumnarFormat.EXTENSION);
+        ColumnarFormat.write(data, file);
+        return file;
+    }
+
+    private static Path patch(Path file, long offset, int value) throws IOException {
+        return patch(file, offset, ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value));
+    }
+
+    private static Path patch(Path file, long offset, long value) throws IOException {
+        return patch(file, offset, ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, value));
+    }
+
+    private static Path patch(Path file, long offset, ByteBuffer bytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(bytes, offset);
+        }
+        return file;
+    }
+
+    private static ModelMetadata metadata(List<String> cities, String cityType) {
+        ModelMetadata md = new ModelMetadata();
+        md.features = List.of(feature("amount", "double", null), feature("city", cityType, cities));
+        md.label = new ModelMetadata.Label();
+        md.label.name    = "churn";
+        md.label.classes = List.of("no", "yes");
+        return md;
+    }
+
+    private static ModelMetadata.Feature feature(String name, String type, List<String> categories) {
+        ModelMetadata.Feature f = new ModelMetadata.Feature();
+        f.name       = name;
+        f.type       = type;
+        f.categories = categories;
+        return f;
+    }
+}
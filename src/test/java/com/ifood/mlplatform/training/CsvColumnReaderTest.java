@@ -0,0 +1,127 @@
+package com.ifood.mlplatform.training;
+
+import com.ifood.mlplatform.model.metadata.ModelMetadata;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streaming a CSV into {@link TrainingData} columns with {@link CsvColumnReader}.
+ */
+public class CsvColumnReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsTheSchemaColumnsInSchemaOrder() throws IOException {
+        Path csv = csv("""
+            id,city,label,amount
+            a,sp,no,1.5
+            b,bh,yes,-2
+            c,sp,yes,3
+            d,rj,no,1e3
+            """);
+
+        TrainingData data = CsvColumnReader.read(csv, metadata(List.of("sp")));
+
+        assertEquals(4, data.rows());
+        assertEquals("amount", data.name(0));
+        assertArrayEquals(new double[] { 1.5, -2, 3, 1000 }, data.column(0));
+        assertNull(data.dictionary(0));
+        // declared categories keep their codes, unseen ones follow in order of appearance
+        assertArrayEquals(new double[] { 0, 1, 0, 2 }, data.column(1));
+        assertArrayEquals(new String[] { "sp", "bh", "rj" }, data.dictionary(1));
+        assertArrayEquals(new int[] { 0, 1, 1, 0 }, data.labels());
+        assertArrayEquals(new String[] { "no", "yes" }, data.classes());
+    }
+
+    @Test
+    void growsColumnsPastOneChunk() throws IOException {
+        int rows = CsvColumnReader.CHUNK + 10;
+        Path csv = dir.resolve("big.csv");
+        try (Writer w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            w.write("amount,city,label\n");
+            for (int i = 0; i < rows; i++) {
+                w.write(i + "," + (i % 2 == 0 ? "sp" : "rj") + "," + (i % 3 == 0 ? "yes" : "no") + "\n");
+            }
+        }
+
+        TrainingData data = CsvColumnReader.read(csv, metadata(List.of("sp", "rj")));
+
+        assertEquals(rows, data.rows());
+        assertEquals(rows, data.column(0).length);
+        assertEquals(rows - 1, data.column(0)[rows - 1]);
+        assertEquals(1, data.column(1)[rows - 1]);
+        assertEquals((rows - 1) % 3 == 0 ? 1 : 0, data.labels()[rows - 1]);
+    }
+
+    @Test
+    void reportsTheFeatureOfAnInvalidValue() throws IOException {
+        Path csv = csv("""
+            amount,city,label
+            1,sp,no
+            lots,sp,yes
+            """);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                                               () -> CsvColumnReader.read(csv, metadata(null)));
+        assertTrue(e.getMessage().contains("Invalid value for feature: amount"), e.getMessage());
+    }
+
+    @Test
+    void rejectsLabelsOutsideTheDeclaredClasses() throws IOException {
+        Path csv = csv("""
+            amount,city,label
+            1,sp,maybe
+            """);
+
+        assertThrows(IllegalStateException.class, () -> CsvColumnReader.read(csv, metadata(null)));
+    }
+
+    @Test
+    void rejectsAMissingColumn() throws IOException {
+        Path csv = csv("""
+            amount,label
+            1,no
+            """);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                                               () -> CsvColumnReader.read(csv, metadata(null)));
+        assertTrue(e.getMessage().contains("`city`"), e.getMessage());
+    }
+
+    private Path csv(String content) throws IOException {
+        return Files.writeString(dir.resolve("train.csv"), content, StandardCharsets.UTF_8);
+    }
+
+    private static ModelMetadata metadata(List<String> cities) {
+        ModelMetadata md = new ModelMetadata();
+        md.features = List.of(feature("amount", "double", null), feature("city", "categorical", cities));
+        md.label = new ModelMetadata.Label();
+        md.label.name    = "label";
+        md.label.classes = List.of("no", "yes");
+        return md;
+    }
+
+    private static ModelMetadata.Feature feature(String name, String type, List<String> categories) {
+        ModelMetadata.Feature f = new ModelMetadata.Feature();
+        f.name       = name;
+        f.type       = type;
+        f.categories = categories;
+        return f;
+    }
+}
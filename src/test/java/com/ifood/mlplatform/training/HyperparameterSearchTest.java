@@ -0,0 +1,101 @@
+package com.ifood.mlplatform.training;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Search grid expansion and stratified folds of {@link HyperparameterSearch}.
+ */
+public class HyperparameterSearchTest {
+
+    @Test
+    void expandsEverySearchListOverTheBaseOptions() {
+        Properties config = new Properties();
+        config.setProperty("smile.random_forest.node_size", "5");
+        config.setProperty("search.trees", "100, 300");
+        config.setProperty("search.max_depth", "10,20,30");
+        config.setProperty("search.folds", "3");
+        config.setProperty("search.seed", "7");
+
+        List<Properties> grid = HyperparameterSearch.grid(config);
+
+        assertEquals(6, grid.size());
+        Set<String> combos = new HashSet<>();
+        for (Properties p : grid) {
+            assertEquals("5", p.getProperty("smile.random_forest.node_size"));
+            assertTrue(p.stringPropertyNames().stream().noneMatch(k -> k.startsWith(HyperparameterSearch.PREFIX)));
+            combos.add(p.getProperty("smile.random_forest.trees") + "/" + p.getProperty("smile.random_forest.max_depth"));
+        }
+        assertEquals(Set.of("100/10", "100/20", "100/30", "300/10", "300/20", "300/30"), combos);
+    }
+
+    @Test
+    void searchesOnlyWhenAnOptionIsListed() {
+        Properties config = new Properties();
+        config.setProperty("search.folds", "3");
+        config.setProperty("smile.random_forest.trees", "100");
+
+        assertFalse(HyperparameterSearch.requested(config));
+        assertEquals(1, HyperparameterSearch.grid(config).size());
+
+        config.setProperty("search.trees", "100,200");
+        assertTrue(HyperparameterSearch.requested(config));
+    }
+
+    @Test
+    void foldsPartitionTheRowsEvenly() {
+        int[] labels = labels(1003, 3);
+
+        int[][] folds = HyperparameterSearch.stratifiedFolds(labels, 5, 42);
+
+        int[] all = Arrays.stream(folds).flatMapToInt(Arrays::stream).sorted().toArray();
+        int[] rows = new int[labels.length];
+        Arrays.setAll(rows, i -> i);
+        assertArrayEquals(rows, all);
+        for (int[] fold : folds) {
+            assertTrue(fold.length == 200 || fold.length == 201, "fold of " + fold.length);
+        }
+    }
+
+    @Test
+    void everyFoldKeepsTheClassMix() {
+        // 1000 rows of which only 10 are the rare class
+        int[] labels = new int[1000];
+        for (int i = 0; i < 10; i++) {
+            labels[i * 97] = 1;
+        }
+
+        for (int[] fold : HyperparameterSearch.stratifiedFolds(labels, 5, 42)) {
+            assertEquals(2, Arrays.stream(fold).filter(r -> labels[r] == 1).count());
+            assertEquals(198, Arrays.stream(fold).filter(r -> labels[r] == 0).count());
+        }
+    }
+
+    @Test
+    void foldsAreReproducibleForASeed() {
+        int[] labels = labels(500, 4);
+
+        assertTrue(Arrays.deepEquals(HyperparameterSearch.stratifiedFolds(labels, 4, 1),
+                                     HyperparameterSearch.stratifiedFolds(labels, 4, 1)));
+        assertFalse(Arrays.deepEquals(HyperparameterSearch.stratifiedFolds(labels, 4, 1),
+                                      HyperparameterSearch.stratifiedFolds(labels, 4, 2)));
+    }
+
+    private static int[] labels(int n, int classes) {
+        int[] labels = new int[n];
+        for (int i = 0; i < n; i++) {
+            labels[i] = (i * 7) % classes;
+        }
+        return labels;
+    }
+}